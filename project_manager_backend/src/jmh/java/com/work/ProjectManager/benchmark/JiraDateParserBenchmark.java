@@ -0,0 +1,48 @@
+package com.work.ProjectManager.benchmark;
+
+import com.work.ProjectManager.utils.JiraDateParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JiraDateParser fast path against the original string-rewriting parser.
+ * Run with -prof gc to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JiraDateParserBenchmark {
+
+    @Param({
+            "2024-01-15T10:30:00.000+0000",
+            "2024-01-15T10:30:00.000-0530",
+            "2024-01-15T10:30:00.000+05:30",
+            "2024-01-15T10:30:00.000Z",
+            "2024-01-15T10:30:00+0000"
+    })
+    public String timestamp;
+
+    @Benchmark
+    public LocalDateTime parse() {
+        return JiraDateParser.parse(timestamp);
+    }
+
+    @Benchmark
+    public LocalDateTime parseLegacy() {
+        return JiraDateParser.parseLegacy(timestamp);
+    }
+}
@@ -0,0 +1,85 @@
+package com.work.ProjectManager.benchmark;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic analysis rows for JMH benchmarks (the database-side equivalent of {@link SyntheticIssues})
+ */
+public final class SyntheticAnalytics {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private SyntheticAnalytics() {
+    }
+
+    /**
+     * {@code count} issues over {@code assignees} assignees; roughly 70% completed with a time taken
+     */
+    public static List<IssueAnalysis> issues(int count, int assignees) {
+        Random random = new Random(count * 31L + assignees);
+        List<IssueAnalysis> rows = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int assignee = random.nextInt(assignees);
+            boolean done = random.nextInt(10) < 7;
+            Double hours = done ? 0.5 + random.nextInt(120) : null;
+            double rate = 40 + assignee % 5 * 10;
+
+            IssueAnalysis row = new IssueAnalysis();
+            row.setIssueKey("BM-" + i);
+            row.setProjectKey("BM");
+            row.setSummary("Synthetic issue " + i);
+            row.setDescription("Generated for benchmarking; issue " + i + " assigned to Assignee " + assignee);
+            row.setAssigneeAccountId("acct-" + assignee);
+            row.setAssigneeName("Assignee " + assignee);
+            row.setAssigneeEmail("assignee" + assignee + "@example.com");
+            row.setStatus(done ? "Done" : "In Progress");
+            row.setCreatedDate(EPOCH.plusMinutes(i * 37L));
+            row.setResolvedDate(done ? EPOCH.plusMinutes(i * 37L).plusMinutes((long) (hours * 60)) : null);
+            row.setTimeTakenHours(hours);
+            row.setAssigneeHourlyCost(rate);
+            row.setTotalCost(hours != null ? hours * rate : null);
+            row.setEfficiencyScore(done ? random.nextDouble() : null);
+            row.setLastSynced(EPOCH);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public static List<AssigneePerformance> assignees(int count) {
+        Random random = new Random(count);
+        List<AssigneePerformance> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AssigneePerformance row = new AssigneePerformance();
+            row.setAccountId("acct-" + i);
+            row.setName("Assignee " + i);
+            row.setEmail("assignee" + i + "@example.com");
+            row.setHourlyCost(40.0 + i % 5 * 10);
+            row.setTotalIssuesCompleted(random.nextInt(500));
+            row.setAverageTimeHours(1 + random.nextDouble() * 40);
+            row.setAverageEfficiencyScore(random.nextDouble());
+            row.setTotalCostIncurred(random.nextDouble() * 100_000);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * LLM context in the shape the controller builds it
+     */
+    public static LLMDataDTO context(List<IssueAnalysis> issues, List<AssigneePerformance> assignees) {
+        return new LLMDataDTO(
+                issues.stream().map(i -> new LLMDataDTO.IssueAnalysisDTO(i.getIssueKey(), i.getProjectKey(),
+                        i.getSummary(), i.getDescription(), i.getAssigneeName(), i.getAssigneeEmail(), i.getStatus(),
+                        i.getTimeTakenHours(), i.getTotalCost(), i.getEfficiencyScore())).toList(),
+                assignees.stream().map(a -> new LLMDataDTO.AssigneePerformanceDTO(a.getAccountId(), a.getName(),
+                        a.getEmail(), a.getHourlyCost(), a.getTotalIssuesCompleted(), a.getAverageTimeHours(),
+                        a.getAverageEfficiencyScore(), a.getTotalCostIncurred())).toList());
+    }
+}
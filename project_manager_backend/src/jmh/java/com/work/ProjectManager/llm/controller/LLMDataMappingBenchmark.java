@@ -0,0 +1,55 @@
+package com.work.ProjectManager.llm.controller;
+
+import com.work.ProjectManager.benchmark.SyntheticAnalytics;
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity to DTO mapping as done by LLMDataController for /data and /ask
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LLMDataMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int issueCount;
+
+    private List<IssueAnalysis> issues;
+    private List<AssigneePerformance> assignees;
+
+    @Setup
+    public void setUp() {
+        issues = SyntheticAnalytics.issues(issueCount, 200);
+        assignees = SyntheticAnalytics.assignees(200);
+    }
+
+    @Benchmark
+    public List<LLMDataDTO.IssueAnalysisDTO> mapIssues() {
+        return issues.stream().map(LLMDataController::mapToIssueDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LLMDataDTO.AssigneePerformanceDTO> mapAssignees() {
+        return assignees.stream().map(LLMDataController::mapToAssigneeDTO).collect(Collectors.toList());
+    }
+}
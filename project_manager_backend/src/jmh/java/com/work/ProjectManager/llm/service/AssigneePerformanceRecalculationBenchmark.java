@@ -0,0 +1,71 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.ProjectManagerApplication;
+import com.work.ProjectManager.benchmark.SyntheticIssues;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * recalculateAssigneePerformance against an in-memory H2 database seeded through the real sync path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssigneePerformanceRecalculationBenchmark {
+
+    @Param({"10000", "100000"})
+    public int issueCount;
+
+    @Param({"50", "500"})
+    public int assigneeCount;
+
+    private ConfigurableApplicationContext context;
+    private IssueAnalysisService issueAnalysisService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ProjectManagerApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:jmh-recalc",
+                        "logging.level.root=WARN")
+                .run();
+        issueAnalysisService = context.getBean(IssueAnalysisService.class);
+        issueAnalysisService.ingestIssues(
+                        Flux.fromStream(() -> SyntheticIssues.project("JMH", issueCount, assigneeCount)),
+                        new SyncResult("JMH", SyncMode.FULL))
+                .block();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void recalculateAssigneePerformance() {
+        issueAnalysisService.recalculateAssigneePerformance();
+    }
+}
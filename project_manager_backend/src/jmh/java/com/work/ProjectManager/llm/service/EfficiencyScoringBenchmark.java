@@ -0,0 +1,66 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.benchmark.SyntheticAnalytics;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory side of efficiency scoring: folding rows into AssigneeTimeAggregates during sync,
+ * then scoring each completed issue against its assignee's average (the same rule the
+ * scoring UPDATE applies in the database)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EfficiencyScoringBenchmark {
+
+    @Param({"1000", "100000"})
+    public int issueCount;
+
+    private List<IssueAnalysis> issues;
+    private AssigneeTimeAggregates loaded;
+
+    @Setup
+    public void setUp() {
+        issues = SyntheticAnalytics.issues(issueCount, 200);
+        loaded = aggregate();
+    }
+
+    @Benchmark
+    public AssigneeTimeAggregates aggregate() {
+        AssigneeTimeAggregates aggregates = new AssigneeTimeAggregates();
+        for (IssueAnalysis row : issues) {
+            aggregates.replace(null, row);
+        }
+        return aggregates;
+    }
+
+    @Benchmark
+    public void score(Blackhole blackhole) {
+        for (IssueAnalysis row : issues) {
+            Double time = row.getTimeTakenHours();
+            Double average = time != null ? loaded.averageHours(row.getAssigneeAccountId()) : null;
+            if (average == null) {
+                continue;
+            }
+            blackhole.consume(time < 0 ? 0.0 : time <= average ? 1.0 : average / time);
+        }
+    }
+}
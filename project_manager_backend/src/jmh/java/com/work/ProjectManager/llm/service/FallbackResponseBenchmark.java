@@ -0,0 +1,51 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.benchmark.SyntheticAnalytics;
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLMService.generateFallbackResponse, one prompt per branch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FallbackResponseBenchmark {
+
+    @Param({"1000", "100000"})
+    public int issueCount;
+
+    @Param({"What is the total cost?", "Who is the most efficient?", "How many issues are open?", "Summarize"})
+    public String prompt;
+
+    private LLMService llmService;
+    private LLMDataDTO context;
+
+    @Setup
+    public void setUp() {
+        // The fallback never touches the WebClient, so no transport is needed
+        llmService = new LLMService(null, null, new SimpleMeterRegistry(), null);
+        context = SyntheticAnalytics.context(SyntheticAnalytics.issues(issueCount, 200), SyntheticAnalytics.assignees(200));
+    }
+
+    @Benchmark
+    public String generateFallbackResponse() {
+        return llmService.generateFallbackResponse(prompt, context);
+    }
+}
@@ -0,0 +1,87 @@
+package com.work.ProjectManager.config;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds one Reactor Netty transport per upstream (Jira, LLM server) with its own connection pool.
+ * Settings are read from {@code http.client.<upstream>.*}:
+ * <ul>
+ *     <li>{@code max-connections}, {@code pending-acquire-max-count}, {@code pending-acquire-timeout}: pool size and wait queue</li>
+ *     <li>{@code max-idle-time}, {@code max-life-time}, {@code evict-in-background}: idle connection eviction</li>
+ *     <li>{@code connect-timeout}, {@code response-timeout}: 0 disables the response timeout</li>
+ *     <li>{@code compress}: send {@code Accept-Encoding: gzip} and decompress compressed responses
+ *     (request bodies are sent uncompressed); {@code http2}: negotiate HTTP/2 over TLS</li>
+ * </ul>
+ * Pool metrics are published under {@code reactor.netty.connection.provider.*} tagged with the pool name:
+ * total/active/idle connections (utilization), pending connections (queue depth) and the
+ * {@code pending.connections.time} timer (acquire latency).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpTransportFactory {
+
+    private final Environment environment;
+
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+    public ClientHttpConnector connector(String upstream, String baseUrl) {
+        String prefix = "http.client." + upstream + ".";
+        int maxConnections = environment.getProperty(prefix + "max-connections", Integer.class, 50);
+
+        ConnectionProvider provider = ConnectionProvider.builder(upstream)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(environment.getProperty(prefix + "pending-acquire-max-count", Integer.class, maxConnections * 2))
+                .pendingAcquireTimeout(duration(prefix + "pending-acquire-timeout", Duration.ofSeconds(45)))
+                .maxIdleTime(duration(prefix + "max-idle-time", Duration.ofSeconds(30)))
+                .maxLifeTime(duration(prefix + "max-life-time", Duration.ofMinutes(5)))
+                .evictInBackground(duration(prefix + "evict-in-background", Duration.ofSeconds(30)))
+                .metrics(true)
+                .build();
+        providers.add(provider);
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .keepAlive(true)
+                .compress(environment.getProperty(prefix + "compress", Boolean.class, true))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (int) duration(prefix + "connect-timeout", Duration.ofSeconds(5)).toMillis());
+
+        Duration responseTimeout = duration(prefix + "response-timeout", Duration.ofSeconds(30));
+        if (!responseTimeout.isZero()) {
+            httpClient = httpClient.responseTimeout(responseTimeout);
+        }
+
+        // HTTP/2 is only negotiated over TLS (ALPN); plain http stays on HTTP/1.1
+        boolean http2 = environment.getProperty(prefix + "http2", Boolean.class, true)
+                && baseUrl != null && baseUrl.startsWith("https");
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        log.info("HTTP transport '{}': maxConnections={}, http2={}", upstream, maxConnections, http2);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+
+    private Duration duration(String property, Duration defaultValue) {
+        return environment.getProperty(property, Duration.class, defaultValue);
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -24,6 +25,11 @@ public class JiraClientConfig {
     @Value("${JIRA_API_TOKEN:}")
     private String tokenProperty;
 
+    // Every search response is decoded incrementally by JiraSearchStreamDecoder and is not bound by
+    // this limit; only bodies bound whole (project metadata, single issues) must fit in it
+    @Value("${jira.client.max-in-memory-size:2MB}")
+    private DataSize maxInMemorySize;
+
     @PostConstruct
     public void loadEnvFile() {
         // Load .env file if it exists
@@ -73,18 +79,20 @@ public class JiraClientConfig {
     }
 
     @Bean
-    public WebClient jiraWebClient() {
+    public WebClient jiraWebClient(HttpTransportFactory httpTransportFactory) {
         // Allow app to start without Jira credentials (for tests and development)
         if (jiraEmail == null || jiraEmail.isEmpty() || jiraApiToken == null || jiraApiToken.isEmpty()) {
             System.out.println("WARNING: JIRA_EMAIL and JIRA_API_TOKEN not configured. Jira integration will not work.");
+            String baseUrl = jiraBaseUrl != null && !jiraBaseUrl.isEmpty() ? jiraBaseUrl : "https://example.com";
             return WebClient.builder()
-                    .baseUrl(jiraBaseUrl != null && !jiraBaseUrl.isEmpty() ? jiraBaseUrl : "https://example.com")
+                    .baseUrl(baseUrl)
+                    .clientConnector(httpTransportFactory.connector("jira", baseUrl))
                     .defaultHeaders(headers -> {
                         headers.add("Accept", "application/json");
                     })
                     .exchangeStrategies(
                             ExchangeStrategies.builder()
-                                    .codecs(c -> c.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
+                                    .codecs(c -> c.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                                     .build()
                     )
                     .build();
@@ -92,13 +100,14 @@ public class JiraClientConfig {
 
         return WebClient.builder()
                 .baseUrl(jiraBaseUrl)
+                .clientConnector(httpTransportFactory.connector("jira", jiraBaseUrl))
                 .defaultHeaders(headers -> {
                     headers.setBasicAuth(jiraEmail, jiraApiToken);
                     headers.add("Accept", "application/json");
                 })
                 .exchangeStrategies(
                         ExchangeStrategies.builder()
-                                .codecs(c -> c.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
+                                .codecs(c -> c.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                                 .build()
                 )
                 .build();
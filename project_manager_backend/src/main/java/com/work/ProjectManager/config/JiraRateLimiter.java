@@ -0,0 +1,98 @@
+package com.work.ProjectManager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Client-side token bucket shared by every Jira call.
+ * The refill rate adapts to Jira's quota: it halves on each 429 (down to {@code min-rps}) and creeps
+ * back up by {@code increase-step} per successful call (up to {@code max-rps}). A Retry-After header
+ * additionally pauses all callers until the requested time. The current rate is published as
+ * {@code jira.ratelimit.rate}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JiraRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jira.client.rate-limit.max-rps:20}")
+    private double maxRate;
+
+    @Value("${jira.client.rate-limit.min-rps:1}")
+    private double minRate;
+
+    @Value("${jira.client.rate-limit.burst:10}")
+    private double burst;
+
+    @Value("${jira.client.rate-limit.increase-step:0.2}")
+    private double increaseStep;
+
+    private double rate = -1;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long pausedUntilNanos;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("jira.ratelimit.rate", this, JiraRateLimiter::getCurrentRate)
+                .description("Requests per second currently allowed to Jira")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes when the caller may send its request
+     */
+    public Mono<Void> acquire() {
+        return Mono.defer(() -> {
+            Duration wait = reserve();
+            return wait.isZero() ? Mono.<Void>empty() : Mono.delay(wait).then();
+        });
+    }
+
+    public synchronized void onSuccess() {
+        initialize();
+        rate = Math.min(maxRate, rate + increaseStep);
+    }
+
+    public synchronized void onRateLimited(Duration retryAfter) {
+        initialize();
+        rate = Math.max(minRate, rate / 2);
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + retryAfter.toNanos());
+        }
+    }
+
+    public synchronized double getCurrentRate() {
+        initialize();
+        return rate;
+    }
+
+    /**
+     * Take a token, going into debt when none is left; the debt is the caller's wait
+     */
+    private synchronized Duration reserve() {
+        initialize();
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * rate);
+        lastRefillNanos = now;
+        tokens -= 1;
+        long waitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+        waitNanos = Math.max(waitNanos, pausedUntilNanos - now);
+        return waitNanos > 0 ? Duration.ofNanos(waitNanos) : Duration.ZERO;
+    }
+
+    private void initialize() {
+        if (rate < 0) {
+            rate = maxRate;
+            tokens = burst;
+        }
+    }
+}
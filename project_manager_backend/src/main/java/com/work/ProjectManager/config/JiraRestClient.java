@@ -1,30 +1,89 @@
 package com.work.ProjectManager.config;
 
+import com.work.ProjectManager.exceptions.JiraApiException;
+import com.work.ProjectManager.exceptions.JiraRateLimitException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JiraRestClient {
 
+    private static final Pattern ENDPOINT_KEY = Pattern.compile("/(project|issue)/[^/?]+");
+
+    /**
+     * Reactor context key of an optional {@link LongAdder} that counts the retries made on behalf
+     * of the subscriber (used by the sync-run ledger)
+     */
+    public static final String RETRY_COUNTER_KEY = JiraRestClient.class.getName() + ".retries";
+
     private final WebClient jiraWebClient;
+    private final JiraRateLimiter jiraRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    // Identical GETs currently in flight, keyed by method, URI, params and response type
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    // Retries after the first attempt
+    @Value("${jira.client.retry.max-retries:4}")
+    private int maxRetries;
+
+    @Value("${jira.client.retry.min-backoff:500ms}")
+    private Duration minBackoff;
+
+    @Value("${jira.client.retry.max-backoff:30s}")
+    private Duration maxBackoff;
+
+    // A longer Retry-After than this fails the call instead of holding it open
+    @Value("${jira.client.retry.max-retry-after:60s}")
+    private Duration maxRetryAfter;
+
+    @Value("${jira.client.coalesce-requests:true}")
+    private boolean coalesceRequests;
 
     public <T> Mono<T> get(String endpoint, Class<T> responseType) {
-        return jiraWebClient.get()
+        return coalesce("GET " + endpoint + " " + responseType.getName(), () -> execute("GET", endpoint, () -> jiraWebClient.get()
                 .uri(endpoint)
                 .retrieve()
                 .onStatus(
                         status -> status.is4xxClientError() || status.is5xxServerError(),
-                        response -> response.bodyToMono(String.class)
-                                .flatMap(error -> Mono.error(new RuntimeException(error)))
+                        this::toException
                 )
-                .bodyToMono(responseType);
+                .bodyToMono(responseType), true));
     }
 
-    public <T> Mono<T> getWithQueryParams(String endpoint, java.util.Map<String, String> queryParams, Class<T> responseType) {
-        return jiraWebClient.get()
+    public <T> Mono<T> getWithQueryParams(String endpoint, Map<String, String> queryParams, Class<T> responseType) {
+        String key = "GET " + endpoint + "?" + new TreeMap<>(queryParams) + " " + responseType.getName();
+        return coalesce(key, () -> execute("GET", endpoint, () -> jiraWebClient.get()
                 .uri(uriBuilder -> {
                     var builder = uriBuilder.path(endpoint);
                     queryParams.forEach(builder::queryParam);
@@ -33,22 +92,238 @@ public class JiraRestClient {
                 .retrieve()
                 .onStatus(
                         status -> status.is4xxClientError() || status.is5xxServerError(),
-                        response -> response.bodyToMono(String.class)
-                                .flatMap(error -> Mono.error(new RuntimeException(error)))
+                        this::toException
                 )
-                .bodyToMono(responseType);
+                .bodyToMono(responseType), true));
+    }
+
+    /**
+     * GET whose body is handed over as it arrives, for incremental decoding.
+     * Retries only happen while nothing has been emitted, so a consumer never sees a body restart.
+     */
+    public Flux<DataBuffer> streamWithQueryParams(String endpoint, Map<String, String> queryParams) {
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return jiraRateLimiter.acquire()
+                    .thenMany(Flux.defer(() -> {
+                        long start = System.nanoTime();
+                        return jiraWebClient.get()
+                                .uri(uriBuilder -> {
+                                    var builder = uriBuilder.path(endpoint);
+                                    queryParams.forEach(builder::queryParam);
+                                    return builder.build();
+                                })
+                                .retrieve()
+                                .onStatus(
+                                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                                        this::toException
+                                )
+                                .bodyToFlux(DataBuffer.class)
+                                .doOnComplete(() -> recordRequest("GET", endpoint, start, "200"))
+                                .doOnError(e -> recordRequest("GET", endpoint, start, statusOf(e)))
+                                .doOnCancel(() -> recordRequest("GET", endpoint, start, "CANCELLED"));
+                    }))
+                    .doOnNext(buffer -> emitted.set(true))
+                    .doOnComplete(jiraRateLimiter::onSuccess)
+                    .retryWhen(retrySpec(true, emitted::get));
+        });
+    }
+
+    /**
+     * Conditional GET: sends If-None-Match / If-Modified-Since when validators are given.
+     * A 304 comes back as an entity with status NOT_MODIFIED and no body.
+     */
+    public <T> Mono<ResponseEntity<T>> getConditional(String endpoint, Class<T> responseType,
+                                                      String etag, String lastModified) {
+        String key = "GET " + endpoint + " if-none-match=" + etag + " if-modified-since=" + lastModified
+                + " " + responseType.getName() + " (entity)";
+        return coalesce(key, () -> execute("GET", endpoint, () -> jiraWebClient.get()
+                .uri(endpoint)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                    if (lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                })
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        this::toException
+                )
+                .toEntity(responseType), true));
     }
 
     public <T, R> Mono<T> post(String endpoint, R requestBody, Class<T> responseType) {
-        return jiraWebClient.post()
+        return execute("POST", endpoint, () -> jiraWebClient.post()
                 .uri(endpoint)
                 .bodyValue(requestBody)
                 .retrieve()
                 .onStatus(
                         status -> status.is4xxClientError() || status.is5xxServerError(),
-                        response -> response.bodyToMono(String.class)
-                                .flatMap(error -> Mono.error(new RuntimeException(error)))
+                        this::toException
                 )
-                .bodyToMono(responseType);
+                .bodyToMono(responseType), false);
+    }
+
+    /* ---------------- Request coalescing ---------------- */
+
+    /**
+     * Single-flight: concurrent subscribers with the same key share one upstream request
+     * (including its retries). Each subscriber still receives its own success or error signal,
+     * and cancelling one subscriber only detaches it; the upstream call is cancelled once
+     * every subscriber has gone. The key is released when the request terminates, before its
+     * result reaches any subscriber, and only if it still maps to this request, so later calls
+     * always go to Jira again and never evict a newer request for the same key.
+     * The shared call runs with the Reactor context of the subscriber that started it, so only
+     * that caller's sync counters ({@link #RETRY_COUNTER_KEY}, pages) count its retries; callers
+     * that joined it are not credited.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String key, Supplier<Mono<T>> request) {
+        if (!coalesceRequests) {
+            return request.get();
+        }
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> candidate = Mono.defer(request)
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(candidate);
+            Mono<T> existing = (Mono<T>) inFlight.putIfAbsent(key, candidate);
+            if (existing != null) {
+                meterRegistry.counter("jira.client.requests.coalesced").increment();
+                return existing;
+            }
+            return candidate;
+        });
+    }
+
+    /* ---------------- Retry and throttling ---------------- */
+
+    /**
+     * Run a request through the shared rate limiter, retrying retryable failures with
+     * exponential backoff and jitter. Retry-After from a 429 is honored as the minimum wait.
+     * Non-idempotent requests are only retried on 429, which Jira rejects before processing.
+     */
+    private <T> Mono<T> execute(String method, String endpoint, Supplier<Mono<T>> request, boolean idempotent) {
+        return jiraRateLimiter.acquire()
+                .then(Mono.defer(() -> {
+                    // Timed per attempt, so retried failures show up with their own status
+                    long start = System.nanoTime();
+                    return request.get()
+                            .doOnSuccess(value -> recordRequest(method, endpoint, start,
+                                    value instanceof ResponseEntity<?> entity
+                                            ? String.valueOf(entity.getStatusCode().value()) : "200"))
+                            .doOnError(e -> recordRequest(method, endpoint, start, statusOf(e)))
+                            .doOnCancel(() -> recordRequest(method, endpoint, start, "CANCELLED"));
+                }))
+                .doOnSuccess(ignored -> jiraRateLimiter.onSuccess())
+                .retryWhen(retrySpec(idempotent, () -> false));
+    }
+
+    /**
+     * {@code jira.client.requests{method,endpoint,status}}; issue and project keys in the path
+     * are replaced by a placeholder to keep one series per endpoint
+     */
+    private void recordRequest(String method, String endpoint, long startNanos, String status) {
+        Timer.builder("jira.client.requests")
+                .description("Jira REST calls, one sample per attempt")
+                .tag("method", method)
+                .tag("endpoint", ENDPOINT_KEY.matcher(endpoint).replaceAll("/$1/{key}"))
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String statusOf(Throwable failure) {
+        if (failure instanceof JiraApiException jira && jira.getStatusCode() > 0) {
+            return String.valueOf(jira.getStatusCode());
+        }
+        return failure instanceof WebClientRequestException ? "IO_ERROR" : "CLIENT_ERROR";
+    }
+
+    private Retry retrySpec(boolean idempotent, BooleanSupplier committed) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            Duration delay = committed.getAsBoolean() ? null : retryDelay(failure, signal.totalRetries(), idempotent);
+            if (delay == null) {
+                return Mono.error(failure);
+            }
+            log.warn("Jira request failed ({}), retry {} of {} in {} ms",
+                    failure.getMessage(), signal.totalRetries() + 1, maxRetries, delay.toMillis());
+            // The companion flux sees the subscriber's context
+            return Mono.deferContextual(ctx -> {
+                ctx.<LongAdder>getOrEmpty(RETRY_COUNTER_KEY).ifPresent(LongAdder::increment);
+                return Mono.delay(delay);
+            });
+        }));
+    }
+
+    /**
+     * How long to wait before retrying, or null when the failure should be propagated
+     */
+    private Duration retryDelay(Throwable failure, long retriesSoFar, boolean idempotent) {
+        if (retriesSoFar >= maxRetries) {
+            return null;
+        }
+        boolean retryable = failure instanceof JiraRateLimitException
+                || (idempotent && failure instanceof JiraApiException jira && jira.isServerError())
+                || (idempotent && failure instanceof WebClientRequestException);
+        if (!retryable) {
+            return null;
+        }
+
+        // Exponential backoff with equal jitter: half fixed, half random
+        long base = Math.min(maxBackoff.toMillis(), minBackoff.toMillis() << Math.min(retriesSoFar, 20));
+        long delayMillis = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+
+        if (failure instanceof JiraRateLimitException rateLimited && rateLimited.getRetryAfter() != null) {
+            if (rateLimited.getRetryAfter().compareTo(maxRetryAfter) > 0) {
+                return null;
+            }
+            delayMillis = Math.max(delayMillis, rateLimited.getRetryAfter().toMillis());
+        }
+        return Duration.ofMillis(delayMillis);
+    }
+
+    private Mono<? extends Throwable> toException(ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> buildException(response, body));
+    }
+
+    private JiraApiException buildException(ClientResponse response, String body) {
+        int status = response.statusCode().value();
+        if (status == 429) {
+            Duration retryAfter = parseRetryAfter(response.headers().asHttpHeaders());
+            jiraRateLimiter.onRateLimited(retryAfter);
+            return new JiraRateLimitException("Jira rate limit exceeded: " + body, body, retryAfter);
+        }
+        return new JiraApiException(body, status, body);
+    }
+
+    /**
+     * Retry-After is either a number of seconds or an HTTP date
+     */
+    static Duration parseRetryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
     }
 }
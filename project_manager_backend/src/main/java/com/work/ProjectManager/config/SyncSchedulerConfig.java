@@ -0,0 +1,33 @@
+package com.work.ProjectManager.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedulers used by issue syncs.
+ * Database work is blocking JPA and gets a bounded-elastic pool capped below the Hikari pool,
+ * so parallel project syncs queue for a thread instead of piling up on connection waits.
+ * Jira responses are handled on a separate small parallel pool, never on database threads.
+ */
+@Configuration
+public class SyncSchedulerConfig {
+
+    @Value("${sync.db-threads:8}")
+    private int dbThreads;
+
+    @Value("${sync.jira-threads:4}")
+    private int jiraThreads;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler syncDbScheduler() {
+        return Schedulers.newBoundedElastic(dbThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "sync-db");
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler syncJiraScheduler() {
+        return Schedulers.newParallel("sync-jira", jiraThreads);
+    }
+}
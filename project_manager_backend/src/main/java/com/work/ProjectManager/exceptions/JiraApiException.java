@@ -2,7 +2,29 @@ package com.work.ProjectManager.exceptions;
 
 public class JiraApiException extends RuntimeException {
 
+    // HTTP status returned by Jira, or 0 when the request never got a response
+    private final int statusCode;
+    private final String responseBody;
+
     public JiraApiException(String message) {
+        this(message, 0, null);
+    }
+
+    public JiraApiException(String message, int statusCode, String responseBody) {
         super(message);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public boolean isServerError() {
+        return statusCode >= 500;
     }
 }
@@ -0,0 +1,21 @@
+package com.work.ProjectManager.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Jira rejected the request with 429 Too Many Requests
+ */
+public class JiraRateLimitException extends JiraApiException {
+
+    // Wait requested by Jira's Retry-After header, or null when it sent none
+    private final Duration retryAfter;
+
+    public JiraRateLimitException(String message, String responseBody, Duration retryAfter) {
+        super(message, 429, responseBody);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -2,11 +2,15 @@ package com.work.ProjectManager.jira.controllers;
 
 import com.work.ProjectManager.jira.service.JiraService;
 import com.work.ProjectManager.utils.ApiResponse;
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -19,6 +23,10 @@ public class JiraIssueController {
         this.jiraService = jiraService;
     }
 
+    /**
+     * The first page of a project's issues only (jira.search.page-size, 100 by default), as before
+     * pagination was added. Use /page with nextCursor or /stream to read every issue.
+     */
     @GetMapping("/project/{projectKey}")
     public Mono<ResponseEntity<ApiResponse>> getIssuesByProject(@PathVariable String projectKey) {
         return jiraService.getIssuesByProject(projectKey)
@@ -28,6 +36,9 @@ public class JiraIssueController {
                                 .body(new ApiResponse(false, null, e.getMessage()))));
     }
 
+    /**
+     * The first page of a user's unresolved issues only; use /page or /stream to read every issue
+     */
     @GetMapping("/assigned/{accountId}")
     public Mono<ResponseEntity<ApiResponse>> getIssuesAssignedToUser(@PathVariable String accountId) {
         return jiraService.getIssuesAssignedToUser(accountId)
@@ -36,5 +47,43 @@ public class JiraIssueController {
                         Mono.just(ResponseEntity.badRequest()
                                 .body(new ApiResponse(false, null, e.getMessage()))));
     }
-}
 
+    /** One page of a project's issues; follow data.nextCursor until it is null */
+    @GetMapping("/project/{projectKey}/page")
+    public Mono<ResponseEntity<ApiResponse>> getIssuesPageByProject(
+            @PathVariable String projectKey,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return jiraService.getIssuesPageByProject(projectKey, cursor, limit)
+                .map(page -> ResponseEntity.ok(new ApiResponse(true, page, null)))
+                .onErrorResume(e ->
+                        Mono.just(ResponseEntity.badRequest()
+                                .body(new ApiResponse(false, null, e.getMessage()))));
+    }
+
+    @GetMapping("/assigned/{accountId}/page")
+    public Mono<ResponseEntity<ApiResponse>> getIssuesPageAssignedToUser(
+            @PathVariable String accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return jiraService.getIssuesPageAssignedToUser(accountId, cursor, limit)
+                .map(page -> ResponseEntity.ok(new ApiResponse(true, page, null)))
+                .onErrorResume(e ->
+                        Mono.just(ResponseEntity.badRequest()
+                                .body(new ApiResponse(false, null, e.getMessage()))));
+    }
+
+    /**
+     * Every issue of a project as newline-delimited JSON, written as pages arrive from Jira.
+     * An upstream failure after the first line ends the stream early (the status is already sent).
+     */
+    @GetMapping(value = "/project/{projectKey}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JiraIssueDTO> streamIssuesByProject(@PathVariable String projectKey) {
+        return jiraService.streamIssuesByProject(projectKey);
+    }
+
+    @GetMapping(value = "/assigned/{accountId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<JiraIssueDTO> streamIssuesAssignedToUser(@PathVariable String accountId) {
+        return jiraService.streamIssuesAssignedToUser(accountId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.work.ProjectManager.jira.controllers;
+
+import com.work.ProjectManager.jira.dto.JiraWebhookEvent;
+import com.work.ProjectManager.llm.service.IssueUpdateQueue;
+import com.work.ProjectManager.utils.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/jira/webhook")
+@RequiredArgsConstructor
+@Tag(name = "Jira Webhooks", description = "Receives pushed Jira issue changes")
+public class JiraWebhookController {
+
+    private final IssueUpdateQueue issueUpdateQueue;
+
+    public static final String SECRET_HEADER = "X-Webhook-Secret";
+
+    @Value("${jira.webhook.secret:}")
+    private String webhookSecret;
+
+    @PostConstruct
+    void warnIfUnsecured() {
+        if (!secretConfigured()) {
+            log.warn("jira.webhook.secret is not set; POST /api/jira/webhook rejects every request");
+        }
+    }
+
+    @Operation(
+            summary = "Receive a Jira issue webhook",
+            description = "Queues jira:issue_created, jira:issue_updated and jira:issue_deleted events. "
+                    + "Events are coalesced per issue and applied in the background, so the response "
+                    + "is 202 Accepted as soon as the event is queued. The shared secret (jira.webhook.secret) "
+                    + "is required in the X-Webhook-Secret header"
+    )
+    @PostMapping
+    public ResponseEntity<ApiResponse> receive(
+            @Parameter(description = "Shared webhook secret")
+            @RequestHeader(value = SECRET_HEADER, required = false) String secretHeader,
+            @RequestBody JiraWebhookEvent event) {
+        if (!secretConfigured()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse(false, null, "Webhook secret is not configured"));
+        }
+        if (!secretMatches(secretHeader)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, null, "Invalid webhook secret"));
+        }
+        if (!event.isIssueEvent() || event.getIssue() == null || event.getIssue().getKey() == null) {
+            return ResponseEntity.accepted().body(new ApiResponse(true, "Ignored", null));
+        }
+        issueUpdateQueue.enqueue(event);
+        return ResponseEntity.accepted().body(new ApiResponse(true, "Queued", null));
+    }
+
+    private boolean secretConfigured() {
+        return webhookSecret != null && !webhookSecret.isBlank();
+    }
+
+    private boolean secretMatches(String secret) {
+        return secret != null && MessageDigest.isEqual(
+                webhookSecret.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.work.ProjectManager.jira.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of issues; pass nextCursor back as ?cursor= to get the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JiraIssuePageDTO {
+    private JiraIssueDTO[] issues;
+    // Null on the last page
+    private String nextCursor;
+}
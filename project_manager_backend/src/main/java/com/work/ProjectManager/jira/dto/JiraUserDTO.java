@@ -7,4 +7,6 @@ public class JiraUserDTO {
     private String accountId;
     private String displayName;
     private String emailAddress;
+    // IANA zone of the user's profile, e.g. "Europe/Berlin"; Jira reads that user's JQL dates in it
+    private String timeZone;
 }
@@ -0,0 +1,26 @@
+package com.work.ProjectManager.jira.dto;
+
+import lombok.Data;
+
+/**
+ * Jira issue webhook payload (jira:issue_created / jira:issue_updated / jira:issue_deleted)
+ */
+@Data
+public class JiraWebhookEvent {
+    public static final String ISSUE_CREATED = "jira:issue_created";
+    public static final String ISSUE_UPDATED = "jira:issue_updated";
+    public static final String ISSUE_DELETED = "jira:issue_deleted";
+
+    private String webhookEvent;
+    // Epoch millis at which Jira raised the event
+    private Long timestamp;
+    private JiraIssueDTO issue;
+
+    public boolean isDeletion() {
+        return ISSUE_DELETED.equals(webhookEvent);
+    }
+
+    public boolean isIssueEvent() {
+        return ISSUE_CREATED.equals(webhookEvent) || ISSUE_UPDATED.equals(webhookEvent) || isDeletion();
+    }
+}
@@ -0,0 +1,163 @@
+package com.work.ProjectManager.jira.service;
+
+import com.work.ProjectManager.config.JiraRestClient;
+import com.work.ProjectManager.exceptions.JiraApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded in-memory cache for slow-changing Jira metadata (projects, project details and
+ * the API user's profile).
+ * <ul>
+ *     <li>younger than its TTL: served from memory</li>
+ *     <li>past its TTL but within {@code jira.cache.max-stale}: served from memory while one
+ *     background request revalidates it</li>
+ *     <li>older than that, or not cached: fetched before answering</li>
+ * </ul>
+ * Revalidation sends the ETag / Last-Modified validators Jira returned, so an unchanged
+ * resource costs a 304 instead of a full body. Entries are kept as the serialized response and
+ * read back on every lookup, so each caller gets its own copy of the (mutable) DTOs and cannot
+ * change what the next caller is served. A 2xx response without a body is treated as a failed
+ * load and never cached. Lookups are published as
+ * {@code cache.gets{cache=<name>,result=hit|stale|miss}} and upstream loads as the
+ * {@code jira.cache.load} timer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JiraMetadataCache {
+
+    private final JiraRestClient jiraRestClient;
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+
+    @Value("${jira.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${jira.cache.max-stale:1h}")
+    private Duration maxStale;
+
+    // Access-ordered, so the least recently read endpoint is evicted first
+    private final Map<String, CachedResponse> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", "jiraMetadata")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached GET of a Jira endpoint
+     *
+     * @param cacheName metric tag for the kind of resource, e.g. "jiraProjects"
+     * @param ttl       how long a response is served without revalidation
+     */
+    public <T> Mono<T> get(String cacheName, String endpoint, Class<T> responseType, Duration ttl) {
+        return Mono.defer(() -> {
+            CachedResponse entry = entries.get(endpoint);
+            if (entry == null) {
+                count(cacheName, "miss");
+                return load(cacheName, endpoint, responseType, null);
+            }
+            long age = System.nanoTime() - entry.fetchedAtNanos();
+            if (age < ttl.toNanos()) {
+                count(cacheName, "hit");
+                return Mono.fromCallable(() -> entry.read(jsonMapper, responseType));
+            }
+            if (age < ttl.plus(maxStale).toNanos()) {
+                count(cacheName, "stale");
+                if (entry.revalidating().compareAndSet(false, true)) {
+                    load(cacheName, endpoint, responseType, entry)
+                            .subscribe(ignored -> { }, e -> {
+                                entry.revalidating().set(false);
+                                log.warn("Revalidating {} failed, serving cached copy: {}", endpoint, e.getMessage());
+                            });
+                }
+                return Mono.fromCallable(() -> entry.read(jsonMapper, responseType));
+            }
+            count(cacheName, "miss");
+            return load(cacheName, endpoint, responseType, entry);
+        });
+    }
+
+    /**
+     * Fetch the endpoint (conditionally when a previous entry exists) and store the result
+     */
+    private <T> Mono<T> load(String cacheName, String endpoint, Class<T> responseType, CachedResponse previous) {
+        String etag = previous != null ? previous.etag() : null;
+        String lastModified = previous != null ? previous.lastModified() : null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return jiraRestClient.getConditional(endpoint, responseType, etag, lastModified)
+                .<T>handle((response, sink) -> {
+                    boolean notModified = previous != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+                    if (!notModified && response.getBody() == null) {
+                        sink.error(new JiraApiException("Empty response body from " + endpoint,
+                                response.getStatusCode().value(), null));
+                        return;
+                    }
+                    CachedResponse fresh = notModified
+                            ? previous.refreshed()
+                            : CachedResponse.of(response, jsonMapper);
+                    entries.put(endpoint, fresh);
+                    sample.stop(loadTimer(cacheName, notModified ? "not_modified" : "modified"));
+                    sink.next(fresh.read(jsonMapper, responseType));
+                })
+                .doOnError(e -> sample.stop(loadTimer(cacheName, "error")));
+    }
+
+    private void count(String cacheName, String result) {
+        meterRegistry.counter("cache.gets", "cache", cacheName, "result", result).increment();
+    }
+
+    private Timer loadTimer(String cacheName, String outcome) {
+        return Timer.builder("jira.cache.load")
+                .description("Upstream Jira requests made to fill or revalidate the metadata cache")
+                .tag("cache", cacheName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param body the response body serialized back to JSON
+     */
+    private record CachedResponse(byte[] body, String etag, String lastModified, long fetchedAtNanos,
+                         AtomicBoolean revalidating) {
+
+        static CachedResponse of(ResponseEntity<?> response, JsonMapper jsonMapper) {
+            HttpHeaders headers = response.getHeaders();
+            return new CachedResponse(jsonMapper.writeValueAsBytes(response.getBody()), headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED), System.nanoTime(), new AtomicBoolean());
+        }
+
+        CachedResponse refreshed() {
+            return new CachedResponse(body, etag, lastModified, System.nanoTime(), new AtomicBoolean());
+        }
+
+        <T> T read(JsonMapper jsonMapper, Class<T> responseType) {
+            return jsonMapper.readValue(body, responseType);
+        }
+    }
+}
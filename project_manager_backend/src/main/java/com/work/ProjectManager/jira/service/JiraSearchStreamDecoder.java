@@ -0,0 +1,168 @@
+package com.work.ProjectManager.jira.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.async.ByteArrayFeeder;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.TokenBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for /search/jql response bodies.
+ * The body is fed chunk by chunk into a non-blocking Jackson parser. Each element of the
+ * top-level {@code issues} array is buffered as tokens and bound to a {@link JiraIssueDTO} as
+ * soon as its closing brace arrives, so at most one issue (plus the current network chunk) is
+ * held in memory, whatever the page size. {@code nextPageToken} and {@code isLast} are read off
+ * the token stream; every other top-level field is skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class JiraSearchStreamDecoder {
+
+    private final JsonMapper jsonMapper;
+
+    /** Something decoded from a search page: an issue, or the end of the page */
+    public sealed interface PageEvent permits IssueDecoded, PageEnd {
+    }
+
+    public record IssueDecoded(JiraIssueDTO issue) implements PageEvent {
+    }
+
+    /** Emitted once the whole page has been read */
+    public record PageEnd(String nextPageToken, Boolean last) implements PageEvent {
+        public boolean hasNextPage() {
+            return nextPageToken != null && !nextPageToken.isEmpty() && !Boolean.TRUE.equals(last);
+        }
+    }
+
+    public Flux<PageEvent> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            PageParser pageParser = new PageParser(jsonMapper);
+            return body
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return pageParser.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(pageParser.finish())))
+                    .doFinally(signal -> pageParser.close());
+        });
+    }
+
+    /**
+     * Parser state for one response body. While an issue is open every token is copied into a
+     * {@link TokenBuffer}; the non-blocking parser's byte offsets do not reliably point at token
+     * starts, so the issue is rebuilt from its tokens rather than cut out of the raw bytes.
+     */
+    private static final class PageParser {
+
+        private final JsonMapper jsonMapper;
+        private final JsonParser parser;
+
+        private int depth;
+        private String topLevelField;
+        private boolean inIssues;
+
+        // Tokens of the issue being read, from its opening brace; null between issues
+        private TokenBuffer issueTokens;
+
+        private String nextPageToken;
+        private Boolean last;
+
+        PageParser(JsonMapper jsonMapper) {
+            this.jsonMapper = jsonMapper;
+            this.parser = jsonMapper.createNonBlockingByteArrayParser();
+        }
+
+        List<PageEvent> feed(DataBuffer buffer) {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            ((ByteArrayFeeder) parser.nonBlockingInputFeeder()).feedInput(chunk, 0, chunk.length);
+            return drain();
+        }
+
+        List<PageEvent> finish() {
+            ((ByteArrayFeeder) parser.nonBlockingInputFeeder()).endOfInput();
+            List<PageEvent> events = drain();
+            if (depth != 0) {
+                throw new IllegalStateException("Jira search response ended inside a JSON value");
+            }
+            events.add(new PageEnd(nextPageToken, last));
+            return events;
+        }
+
+        void close() {
+            parser.close();
+            if (issueTokens != null) {
+                issueTokens.close();
+            }
+        }
+
+        private List<PageEvent> drain() {
+            List<PageEvent> events = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> {
+                        depth++;
+                        if (depth == 2 && token == JsonToken.START_ARRAY && "issues".equals(topLevelField)) {
+                            inIssues = true;
+                        } else if (inIssues && depth == 3 && token == JsonToken.START_OBJECT) {
+                            issueTokens = TokenBuffer.forGeneration();
+                        }
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        if (inIssues && depth == 3 && token == JsonToken.END_OBJECT) {
+                            issueTokens.copyCurrentEvent(parser);
+                            events.add(new IssueDecoded(endIssue()));
+                        } else if (inIssues && depth == 2) {
+                            inIssues = false;
+                        }
+                        depth--;
+                    }
+                    case PROPERTY_NAME -> {
+                        if (depth == 1) {
+                            topLevelField = parser.currentName();
+                        }
+                    }
+                    default -> {
+                        if (depth == 1) {
+                            readTopLevelValue(token);
+                        }
+                    }
+                }
+                if (issueTokens != null) {
+                    issueTokens.copyCurrentEvent(parser);
+                }
+            }
+            return events;
+        }
+
+        private JiraIssueDTO endIssue() {
+            TokenBuffer tokens = issueTokens;
+            issueTokens = null;
+            try (tokens; JsonParser issue = tokens.asParser()) {
+                return jsonMapper.readValue(issue, JiraIssueDTO.class);
+            }
+        }
+
+        private void readTopLevelValue(JsonToken token) {
+            if ("nextPageToken".equals(topLevelField)) {
+                nextPageToken = token == JsonToken.VALUE_NULL ? null : parser.getString();
+            } else if ("isLast".equals(topLevelField)) {
+                last = token == JsonToken.VALUE_TRUE ? Boolean.TRUE
+                        : token == JsonToken.VALUE_FALSE ? Boolean.FALSE : null;
+            }
+        }
+    }
+}
@@ -3,51 +3,154 @@ package com.work.ProjectManager.jira.service;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.work.ProjectManager.config.JiraRestClient;
 import com.work.ProjectManager.jira.dto.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class JiraService {
 
+    private static final String SEARCH_ENDPOINT = "/rest/api/3/search/jql";
+    private static final String SEARCH_FIELDS = "summary,description,status,assignee,id,key,created,updated,resolutiondate,project";
+    // JQL date literals only go down to minutes
+    private static final DateTimeFormatter JQL_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+    // Westernmost offset in use: a date written in it is never later than the instant in any user's zone
+    private static final ZoneOffset WESTERNMOST_OFFSET = ZoneOffset.ofHours(-12);
+
+    /** Reactor context key of an optional {@link LongAdder} that counts the search pages streamed */
+    public static final String PAGE_COUNTER_KEY = JiraService.class.getName() + ".pages";
+
     private final JiraRestClient jiraRestClient;
+    private final JiraMetadataCache jiraMetadataCache;
+    private final JiraSearchStreamDecoder jiraSearchStreamDecoder;
+
+    @Value("${jira.search.page-size:100}")
+    private int searchPageSize;
+
+    @Value("${jira.cache.projects.ttl:5m}")
+    private Duration projectsTtl;
 
-    /** Get all projects (basic info only) */
+    @Value("${jira.cache.project-details.ttl:15m}")
+    private Duration projectDetailsTtl;
+
+    @Value("${jira.cache.myself.ttl:1h}")
+    private Duration myselfTtl;
+
+    /** Get all projects (basic info only), served from the metadata cache */
     public Mono<JiraProjectDTO[]> getAllProjects() {
         // /project returns array of all projects in Jira Cloud
-        return jiraRestClient.get("/rest/api/3/project", JiraProjectDTO[].class);
+        return jiraMetadataCache.get("jiraProjects", "/rest/api/3/project", JiraProjectDTO[].class, projectsTtl);
     }
 
-    /** Get single project details by key or id */
+    /** Get single project details by key or id, served from the metadata cache */
     public Mono<JiraProjectDetailsDTO> getProjectDetails(String projectKey) {
         String endpoint = "/rest/api/3/project/" + encodePath(projectKey);
-        return jiraRestClient.get(endpoint, JiraProjectDetailsDTO.class);
+        return jiraMetadataCache.get("jiraProjectDetails", endpoint, JiraProjectDetailsDTO.class, projectDetailsTtl);
     }
 
-    /** Get all issues for a project using JQL */
+    /**
+     * The first page (jira.search.page-size issues) of a project's issues, newest first.
+     * Use the cursor or streaming variants to read a whole project; collecting one into a
+     * single array would grow with project size.
+     */
     public Mono<JiraIssueDTO[]> getIssuesByProject(String projectKey) {
-        String jql = "project=\"" + projectKey + "\" ORDER BY created DESC";
-        return searchIssuesAndExtractIssues(jql);
+        return firstPageIssues(projectJql(projectKey));
     }
 
-    /** Get all issues assigned to a user (accountId required) */
+    /** The first page of a user's unresolved issues (accountId required); see {@link #getIssuesByProject} */
     public Mono<JiraIssueDTO[]> getIssuesAssignedToUser(String accountId) {
-        String jql = "assignee=\"" + accountId + "\" AND resolution=Unresolved ORDER BY created DESC";
-        return searchIssuesAndExtractIssues(jql);
+        return firstPageIssues(assignedJql(accountId));
     }
 
-    /** Search issues using arbitrary JQL */
+    /** One page of a project's issues; cursor is the nextCursor of the previous page, null for the first */
+    public Mono<JiraIssuePageDTO> getIssuesPageByProject(String projectKey, String cursor, int limit) {
+        return searchIssuesPage(projectJql(projectKey), cursor, limit);
+    }
+
+    /** One page of a user's unresolved issues; cursor is the nextCursor of the previous page, null for the first */
+    public Mono<JiraIssuePageDTO> getIssuesPageAssignedToUser(String accountId, String cursor, int limit) {
+        return searchIssuesPage(assignedJql(accountId), cursor, limit);
+    }
+
+    /** Stream every unresolved issue assigned to a user, following search pagination */
+    public Flux<JiraIssueDTO> streamIssuesAssignedToUser(String accountId) {
+        return streamIssues(assignedJql(accountId));
+    }
+
+    /** Search issues using arbitrary JQL (first page only) */
     public Mono<JiraSearchResponse> searchIssues(String jql) {
-        // Use new /rest/api/3/search/jql endpoint with GET and JQL as query parameter
-        String endpoint = "/rest/api/3/search/jql";
-        java.util.Map<String, String> queryParams = new java.util.HashMap<>();
-        queryParams.put("jql", jql);
-        queryParams.put("maxResults", "100");
-        queryParams.put("startAt", "0");
-        queryParams.put("fields", "summary,description,status,assignee,id,key,created,resolutiondate,project");
-        return jiraRestClient.getWithQueryParams(endpoint, queryParams, JiraSearchResponse.class);
+        return collectSearchPage(jql, null, searchPageSize);
+    }
+
+    /** Stream every issue of a project, following search pagination */
+    public Flux<JiraIssueDTO> streamIssuesByProject(String projectKey) {
+        return streamIssues(projectJql(projectKey));
+    }
+
+    /**
+     * Stream the issues of a project updated at or after the given instant, oldest change first.
+     * Jira reads JQL dates in the API user's profile time zone, so the instant is written in that
+     * zone; if it is unknown, in the westernmost offset, which re-reads up to a day more but never
+     * skips a change.
+     */
+    public Flux<JiraIssueDTO> streamIssuesUpdatedSince(String projectKey, Instant updatedSince) {
+        return getSearchTimeZone()
+                .onErrorResume(e -> {
+                    log.warn("Could not read the Jira user's time zone, widening the updated-since window: {}",
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(WESTERNMOST_OFFSET)
+                .flatMapMany(zone -> streamIssues("project=\"" + projectKey + "\" AND updated >= \""
+                        + updatedSince.atZone(zone).format(JQL_DATE_FORMAT) + "\" ORDER BY updated ASC"));
+    }
+
+    /** Time zone of the API user's profile (/myself), in which Jira reads JQL dates; empty if Jira has none */
+    public Mono<ZoneId> getSearchTimeZone() {
+        return jiraMetadataCache.get("jiraMyself", "/rest/api/3/myself", JiraUserDTO.class, myselfTtl)
+                .flatMap(user -> {
+                    if (user.getTimeZone() == null) {
+                        return Mono.empty();
+                    }
+                    try {
+                        return Mono.just(ZoneId.of(user.getTimeZone()));
+                    } catch (DateTimeException e) {
+                        log.warn("Ignoring unknown Jira time zone {}", user.getTimeZone());
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    /**
+     * Stream all issues matching a JQL query.
+     * Pages are requested one at a time by following the nextPageToken of the
+     * previous page. Each page body is decoded incrementally, so issues are emitted
+     * while the page is still downloading and no page is ever buffered whole.
+     */
+    public Flux<JiraIssueDTO> streamIssues(String jql) {
+        return streamSearchPage(jql, null)
+                .expand(event -> event instanceof JiraSearchStreamDecoder.PageEnd end && end.hasNextPage()
+                        ? streamSearchPage(jql, end.nextPageToken())
+                        : Flux.empty())
+                .<JiraIssueDTO>handle((event, sink) -> {
+                    if (event instanceof JiraSearchStreamDecoder.IssueDecoded decoded) {
+                        sink.next(decoded.issue());
+                    }
+                });
     }
 
     /** Get issue details by issue key */
@@ -58,16 +161,60 @@ public class JiraService {
 
     /* ---------------- Helper methods ---------------- */
 
-    private Mono<JiraIssueDTO[]> searchIssuesAndExtractIssues(String jql) {
+    private Mono<JiraIssueDTO[]> firstPageIssues(String jql) {
+        return collectSearchPage(jql, null, searchPageSize)
+                .map(resp -> resp.getIssues() != null ? resp.getIssues() : new JiraIssueDTO[0]);
+    }
+
+    private Mono<JiraIssuePageDTO> searchIssuesPage(String jql, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, searchPageSize));
+        String token = cursor != null && !cursor.isBlank() ? cursor : null;
+        return collectSearchPage(jql, token, pageSize)
+                .map(resp -> new JiraIssuePageDTO(
+                        resp.getIssues() != null ? resp.getIssues() : new JiraIssueDTO[0],
+                        resp.hasNextPage() ? resp.getNextPageToken() : null));
+    }
+
+    /**
+     * One search page gathered from the incrementally decoded body, so only the issues
+     * themselves are held and the response never has to fit the client's in-memory limit
+     */
+    private Mono<JiraSearchResponse> collectSearchPage(String jql, String nextPageToken, int pageSize) {
+        return streamSearchPage(jql, nextPageToken, pageSize)
+                .collect(JiraSearchResponseCollector::new, JiraSearchResponseCollector::accept)
+                .map(JiraSearchResponseCollector::toResponse);
+    }
+
+    private Flux<JiraSearchStreamDecoder.PageEvent> streamSearchPage(String jql, String nextPageToken) {
+        return streamSearchPage(jql, nextPageToken, searchPageSize);
+    }
+
+    private Flux<JiraSearchStreamDecoder.PageEvent> streamSearchPage(String jql, String nextPageToken, int pageSize) {
+        return Flux.deferContextual(ctx -> {
+            ctx.<LongAdder>getOrEmpty(PAGE_COUNTER_KEY).ifPresent(LongAdder::increment);
+            return jiraSearchStreamDecoder.decode(
+                    jiraRestClient.streamWithQueryParams(SEARCH_ENDPOINT, searchParams(jql, nextPageToken, pageSize)));
+        });
+    }
+
+    private String projectJql(String projectKey) {
+        return "project=\"" + projectKey + "\" ORDER BY created DESC";
+    }
+
+    private String assignedJql(String accountId) {
+        return "assignee=\"" + accountId + "\" AND resolution=Unresolved ORDER BY created DESC";
+    }
+
+    private java.util.Map<String, String> searchParams(String jql, String nextPageToken, int pageSize) {
         // Use new /rest/api/3/search/jql endpoint with GET and JQL as query parameter
-        String endpoint = "/rest/api/3/search/jql";
         java.util.Map<String, String> queryParams = new java.util.HashMap<>();
         queryParams.put("jql", jql);
-        queryParams.put("maxResults", "100");
-        queryParams.put("startAt", "0");
-        queryParams.put("fields", "summary,description,status,assignee,id,key,created,resolutiondate,project");
-        return jiraRestClient.getWithQueryParams(endpoint, queryParams, JiraSearchResponse.class)
-                .map(resp -> resp.getIssues() != null ? resp.getIssues() : new JiraIssueDTO[0]);
+        queryParams.put("maxResults", String.valueOf(pageSize));
+        queryParams.put("fields", SEARCH_FIELDS);
+        if (nextPageToken != null) {
+            queryParams.put("nextPageToken", nextPageToken);
+        }
+        return queryParams;
     }
 
     private String encodePath(String pathSegment) {
@@ -108,10 +255,46 @@ public class JiraService {
         public void setFields(String[] fields) { this.fields = fields; }
     }
 
+    private static class JiraSearchResponseCollector {
+        private final java.util.List<JiraIssueDTO> issues = new java.util.ArrayList<>();
+        private JiraSearchStreamDecoder.PageEnd end;
+
+        void accept(JiraSearchStreamDecoder.PageEvent event) {
+            if (event instanceof JiraSearchStreamDecoder.IssueDecoded decoded) {
+                issues.add(decoded.issue());
+            } else if (event instanceof JiraSearchStreamDecoder.PageEnd pageEnd) {
+                end = pageEnd;
+            }
+        }
+
+        JiraSearchResponse toResponse() {
+            JiraSearchResponse response = new JiraSearchResponse();
+            response.setIssues(issues.toArray(new JiraIssueDTO[0]));
+            if (end != null) {
+                response.setNextPageToken(end.nextPageToken());
+                response.setLast(end.last());
+            }
+            return response;
+        }
+    }
+
     public static class JiraSearchResponse {
         private JiraIssueDTO[] issues;
+        private String nextPageToken;
+
+        @JsonProperty("isLast")
+        private Boolean last;
 
         public JiraIssueDTO[] getIssues() { return issues; }
         public void setIssues(JiraIssueDTO[] issues) { this.issues = issues; }
+        public String getNextPageToken() { return nextPageToken; }
+        public void setNextPageToken(String nextPageToken) { this.nextPageToken = nextPageToken; }
+        public Boolean getLast() { return last; }
+        public void setLast(Boolean last) { this.last = last; }
+
+        /** A further page exists when Jira hands back a continuation token and did not flag this page as last */
+        public boolean hasNextPage() {
+            return nextPageToken != null && !nextPageToken.isEmpty() && !Boolean.TRUE.equals(last);
+        }
     }
 }
@@ -2,20 +2,34 @@ package com.work.ProjectManager.llm.controller;
 
 import com.work.ProjectManager.llm.dto.LLMDataDTO;
 import com.work.ProjectManager.llm.dto.LLMQueryRequest;
+import com.work.ProjectManager.llm.dto.RepricingResult;
+import com.work.ProjectManager.llm.dto.SyncMode;
 import com.work.ProjectManager.llm.entity.AssigneePerformance;
 import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.service.HourlyCostCsv;
 import com.work.ProjectManager.llm.service.IssueAnalysisService;
-import com.work.ProjectManager.llm.service.LLMService;
+import com.work.ProjectManager.llm.service.LLMAnswerCache;
+import com.work.ProjectManager.llm.service.LLMContextBuilder;
+import com.work.ProjectManager.llm.service.LLMDataSnapshots;
+import com.work.ProjectManager.llm.service.ProjectSyncOrchestrator;
+import com.work.ProjectManager.llm.service.SyncRunLedger;
 import com.work.ProjectManager.utils.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,56 +39,152 @@ import java.util.stream.Collectors;
 public class LLMDataController {
 
     private final IssueAnalysisService issueAnalysisService;
-    private final LLMService llmService;
+    private final LLMContextBuilder llmContextBuilder;
+    private final LLMAnswerCache llmAnswerCache;
+    private final LLMDataSnapshots llmDataSnapshots;
+    private final ProjectSyncOrchestrator projectSyncOrchestrator;
+    private final SyncRunLedger syncRunLedger;
 
     @Operation(
             summary = "Sync Jira issues",
-            description = "Syncs all issues from a Jira project and analyzes them for performance metrics"
+            description = "Syncs issues from a Jira project and analyzes them for performance metrics. "
+                    + "INCREMENTAL (default) only fetches issues updated since the last sync; FULL re-syncs every issue"
     )
     @PostMapping("/sync/project/{projectKey}")
     public Mono<ResponseEntity<ApiResponse>> syncProject(
             @Parameter(description = "Project key", example = "MW")
-            @PathVariable String projectKey) {
-        return issueAnalysisService.syncIssuesForProject(projectKey)
-                .then(Mono.just(ResponseEntity.ok(new ApiResponse(true, "Issues synced successfully", null))))
+            @PathVariable String projectKey,
+            @Parameter(description = "Sync mode", example = "INCREMENTAL")
+            @RequestParam(defaultValue = "INCREMENTAL") SyncMode mode) {
+        return issueAnalysisService.syncIssuesForProject(projectKey, mode)
+                .map(result -> ResponseEntity.ok(new ApiResponse(true, result, null)))
                 .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
                         .body(new ApiResponse(false, null, e.getMessage()))));
     }
 
     @Operation(
-            summary = "Get all LLM data",
-            description = "Retrieves all issue analysis and assignee performance data"
+            summary = "Sync all Jira projects",
+            description = "Syncs every Jira project in parallel and returns a per-project outcome summary. "
+                    + "A failing project does not stop the others"
     )
-    @GetMapping("/data")
-    public ResponseEntity<ApiResponse> getAllLLMData() {
-        List<IssueAnalysis> issues = issueAnalysisService.getAllIssueAnalysis();
-        List<AssigneePerformance> assignees = issueAnalysisService.getAllAssigneePerformance();
-
-        LLMDataDTO dto = new LLMDataDTO(
-                issues.stream().map(this::mapToIssueDTO).collect(Collectors.toList()),
-                assignees.stream().map(this::mapToAssigneeDTO).collect(Collectors.toList())
-        );
+    @PostMapping("/sync/all")
+    public Mono<ResponseEntity<ApiResponse>> syncAllProjects(
+            @Parameter(description = "Sync mode", example = "FULL")
+            @RequestParam(defaultValue = "INCREMENTAL") SyncMode mode,
+            @Parameter(description = "Projects synced at the same time (defaults to sync.parallelism)", example = "4")
+            @RequestParam(required = false) Integer concurrency) {
+        return projectSyncOrchestrator.syncAllProjects(mode, concurrency)
+                .map(result -> ResponseEntity.ok(new ApiResponse(true, result, null)))
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                        .body(new ApiResponse(false, null, e.getMessage()))));
+    }
 
-        return ResponseEntity.ok(new ApiResponse(true, dto, null));
+    @Operation(
+            summary = "List sync runs",
+            description = "Returns the most recent recorded sync runs, newest first, with row counts, "
+                    + "pages fetched, Jira retries and time per phase"
+    )
+    @GetMapping("/sync/runs")
+    public ResponseEntity<ApiResponse> getSyncRuns(
+            @Parameter(description = "Only runs of this project", example = "MW")
+            @RequestParam(required = false) String projectKey,
+            @Parameter(description = "Maximum number of runs", example = "50")
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(new ApiResponse(true, syncRunLedger.recentRuns(projectKey, Math.min(limit, 1000)), null));
+    }
+
+    @Operation(
+            summary = "Sync duration statistics",
+            description = "Returns p50/p95/max durations of each project's successful sync runs over the last days"
+    )
+    @GetMapping("/sync/runs/stats")
+    public ResponseEntity<ApiResponse> getSyncRunStats(
+            @Parameter(description = "Window in days", example = "30")
+            @RequestParam(defaultValue = "30") int days) {
+        if (days < 1) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, null, "days must be at least 1"));
+        }
+        return ResponseEntity.ok(new ApiResponse(true, syncRunLedger.durationStats(days), null));
+    }
+
+    @Operation(
+            summary = "Search issues",
+            description = "Full-text search over issue summaries and descriptions, ranked with BM25, "
+                    + "optionally within one project"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchIssues(
+            @Parameter(description = "Search text", example = "login timeout")
+            @RequestParam String q,
+            @Parameter(description = "Only issues of this project", example = "MW")
+            @RequestParam(required = false) String projectKey,
+            @Parameter(description = "Maximum number of results", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        String scope = projectKey != null && !projectKey.isBlank() ? projectKey : null;
+        return ResponseEntity.ok(new ApiResponse(true,
+                issueAnalysisService.searchIssues(q, scope, Math.max(1, Math.min(limit, 200))), null));
+    }
+
+    @Operation(
+            summary = "Get all LLM data",
+            description = "Retrieves all issue analysis and assignee performance data. "
+                    + "Served from a snapshot that is rebuilt only after the data changes; send the returned ETag "
+                    + "as If-None-Match to get 304 Not Modified while it is current"
+    )
+    @GetMapping(value = "/data", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllLLMData(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshotResponse(null, ifNoneMatch, acceptEncoding, () -> new LLMDataDTO(
+                issueAnalysisService.getAllIssueAnalysis().stream()
+                        .map(LLMDataController::mapToIssueDTO).collect(Collectors.toList()),
+                issueAnalysisService.getAllAssigneePerformance().stream()
+                        .map(LLMDataController::mapToAssigneeDTO).collect(Collectors.toList())
+        ));
     }
 
     @Operation(
             summary = "Get project LLM data",
-            description = "Retrieves issue analysis and performance data for a specific project"
+            description = "Retrieves issue analysis and performance data for a specific project. "
+                    + "Supports If-None-Match like GET /data"
     )
-    @GetMapping("/data/project/{projectKey}")
-    public ResponseEntity<ApiResponse> getProjectLLMData(
+    @GetMapping(value = "/data/project/{projectKey}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getProjectLLMData(
             @Parameter(description = "Project key", example = "MW")
-            @PathVariable String projectKey) {
-        List<IssueAnalysis> issues = issueAnalysisService.getIssueAnalysisByProject(projectKey);
-        List<AssigneePerformance> assignees = issueAnalysisService.getAllAssigneePerformance();
-
-        LLMDataDTO dto = new LLMDataDTO(
-                issues.stream().map(this::mapToIssueDTO).collect(Collectors.toList()),
-                assignees.stream().map(this::mapToAssigneeDTO).collect(Collectors.toList())
-        );
+            @PathVariable String projectKey,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return snapshotResponse(projectKey, ifNoneMatch, acceptEncoding, () -> new LLMDataDTO(
+                issueAnalysisService.getIssueAnalysisByProject(projectKey).stream()
+                        .map(LLMDataController::mapToIssueDTO).collect(Collectors.toList()),
+                issueAnalysisService.getAllAssigneePerformance().stream()
+                        .map(LLMDataController::mapToAssigneeDTO).collect(Collectors.toList())
+        ));
+    }
 
-        return ResponseEntity.ok(new ApiResponse(true, dto, null));
+    /**
+     * 304 when the client already holds the current version, otherwise the stored snapshot bytes,
+     * gzip-encoded when the client accepts it and the snapshot is large enough to have a gzip copy
+     */
+    private ResponseEntity<byte[]> snapshotResponse(String projectKey, String ifNoneMatch, String acceptEncoding,
+                                                    Supplier<LLMDataDTO> data) {
+        if (llmDataSnapshots.isCurrent(projectKey, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(llmDataSnapshots.currentEtag(projectKey))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        LLMDataSnapshots.Snapshot snapshot = llmDataSnapshots.get(projectKey, data);
+        boolean gzip = snapshot.gzipped() != null && LLMDataSnapshots.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? snapshot.gzipped() : snapshot.json());
     }
 
     @Operation(
@@ -96,6 +206,44 @@ public class LLMDataController {
         }
     }
 
+    @Operation(
+            summary = "Bulk update assignee hourly costs",
+            description = "Updates the hourly cost of many assignees at once (JSON object of accountId to hourly cost) "
+                    + "and re-prices their issues with set-based updates"
+    )
+    @PutMapping("/assignees/cost")
+    public ResponseEntity<ApiResponse> updateAssigneeCosts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Map of Jira account ID to hourly cost in dollars"
+            )
+            @RequestBody Map<String, Double> hourlyCosts) {
+        try {
+            RepricingResult result = issueAnalysisService.updateAssigneeHourlyCosts(hourlyCosts);
+            return ResponseEntity.ok(new ApiResponse(true, result, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, null, e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "Bulk update assignee hourly costs from CSV",
+            description = "Same as PUT /assignees/cost, from an uploaded CSV file with accountId,hourlyCost rows"
+    )
+    @PostMapping(value = "/assignees/cost/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse> uploadAssigneeCosts(
+            @Parameter(description = "CSV file with accountId,hourlyCost rows (header optional)")
+            @RequestParam("file") MultipartFile file) {
+        try {
+            Map<String, Double> hourlyCosts = HourlyCostCsv.parse(file.getInputStream());
+            RepricingResult result = issueAnalysisService.updateAssigneeHourlyCosts(hourlyCosts);
+            return ResponseEntity.ok(new ApiResponse(true, result, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, null, e.getMessage()));
+        }
+    }
+
     @Operation(
             summary = "Recalculate performance metrics",
             description = "Recalculates all assignee performance metrics based on current data"
@@ -113,7 +261,9 @@ public class LLMDataController {
 
     @Operation(
             summary = "Ask LLM a question",
-            description = "Ask natural language questions about project data and get AI-powered insights"
+            description = "Ask natural language questions about project data and get AI-powered insights. "
+                    + "The LLM receives totals over all issues in scope plus the issues most relevant to the question, "
+                    + "within llm.context.max-bytes"
     )
     @PostMapping("/ask")
     public Mono<ResponseEntity<ApiResponse>> askLLM(
@@ -121,32 +271,37 @@ public class LLMDataController {
                     description = "Question and optional project key for context"
             )
             @RequestBody LLMQueryRequest request) {
-        // Get relevant data based on projectKey
-        LLMDataDTO data;
-        if (request.getProjectKey() != null && !request.getProjectKey().isEmpty()) {
-            List<IssueAnalysis> issues = issueAnalysisService.getIssueAnalysisByProject(request.getProjectKey());
-            List<AssigneePerformance> assignees = issueAnalysisService.getAllAssigneePerformance();
-            data = new LLMDataDTO(
-                    issues.stream().map(this::mapToIssueDTO).collect(Collectors.toList()),
-                    assignees.stream().map(this::mapToAssigneeDTO).collect(Collectors.toList())
-            );
-        } else {
-            List<IssueAnalysis> issues = issueAnalysisService.getAllIssueAnalysis();
-            List<AssigneePerformance> assignees = issueAnalysisService.getAllAssigneePerformance();
-            data = new LLMDataDTO(
-                    issues.stream().map(this::mapToIssueDTO).collect(Collectors.toList()),
-                    assignees.stream().map(this::mapToAssigneeDTO).collect(Collectors.toList())
-            );
-        }
-
-        // Call external LLM service
-        return llmService.askLLM(request.getPrompt(), data)
+        // Repeated questions over unchanged data are answered from the cache; otherwise the LLM gets
+        // totals, assignee statistics and the issues most relevant to the prompt, within the context budget
+        return llmAnswerCache.ask(request.getPrompt(), request.getProjectKey(),
+                        () -> llmContextBuilder.build(request.getPrompt(), request.getProjectKey()))
                 .map(response -> ResponseEntity.ok(new ApiResponse(true, response, null)))
                 .onErrorResume(error -> Mono.just(ResponseEntity.badRequest()
                         .body(new ApiResponse(false, null, error.getMessage()))));
     }
 
-    private LLMDataDTO.IssueAnalysisDTO mapToIssueDTO(IssueAnalysis issue) {
+    @Operation(
+            summary = "Ask LLM a question (streamed)",
+            description = "Same as /ask, but the answer is streamed as Server-Sent Events while the LLM generates it: "
+                    + "\"token\" events carry consecutive pieces of the answer, then a \"done\" event ends the stream. "
+                    + "If the answer fails midway an \"error\" event carries the message"
+    )
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> askLLMStream(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Question and optional project key for context"
+            )
+            @RequestBody LLMQueryRequest request) {
+        return llmAnswerCache.stream(request.getPrompt(), request.getProjectKey(),
+                        () -> llmContextBuilder.build(request.getPrompt(), request.getProjectKey()))
+                .map(token -> ServerSentEvent.builder(token).event("token").build())
+                .concatWithValues(ServerSentEvent.builder("").event("done").build())
+                .onErrorResume(error -> Mono.just(ServerSentEvent.builder(String.valueOf(error.getMessage()))
+                        .event("error").build()));
+    }
+
+    // Package-private for the JMH mapping benchmark
+    static LLMDataDTO.IssueAnalysisDTO mapToIssueDTO(IssueAnalysis issue) {
         return new LLMDataDTO.IssueAnalysisDTO(
                 issue.getIssueKey(),
                 issue.getProjectKey(),
@@ -161,7 +316,7 @@ public class LLMDataController {
         );
     }
 
-    private LLMDataDTO.AssigneePerformanceDTO mapToAssigneeDTO(AssigneePerformance assignee) {
+    static LLMDataDTO.AssigneePerformanceDTO mapToAssigneeDTO(AssigneePerformance assignee) {
         return new LLMDataDTO.AssigneePerformanceDTO(
                 assignee.getAccountId(),
                 assignee.getName(),
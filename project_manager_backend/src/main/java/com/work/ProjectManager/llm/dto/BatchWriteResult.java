@@ -0,0 +1,25 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row counts for one bulk upsert of issue analysis data
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchWriteResult {
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    // Issues without a key or fields, and duplicate keys within the same batch
+    private int skipped;
+    // Time spent mapping issues to rows, reported to the sync-run ledger
+    private long mapNanos;
+
+    public int getTotal() {
+        return inserted + updated + unchanged + skipped;
+    }
+}
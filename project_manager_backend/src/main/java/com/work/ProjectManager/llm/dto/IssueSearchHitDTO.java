@@ -0,0 +1,21 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One result of a full-text issue search
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueSearchHitDTO {
+    private String issueKey;
+    private String projectKey;
+    private String summary;
+    private String status;
+    private String assigneeName;
+    // BM25 relevance; only comparable within one query
+    private double score;
+}
@@ -1,10 +1,12 @@
 package com.work.ProjectManager.llm.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -12,6 +14,14 @@ import java.util.List;
 public class LLMDataDTO {
     private List<IssueAnalysisDTO> issues;
     private List<AssigneePerformanceDTO> assignees;
+    // Totals over every issue in scope; set when the issue list is a budgeted selection
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SummaryDTO summary;
+
+    public LLMDataDTO(List<IssueAnalysisDTO> issues, List<AssigneePerformanceDTO> assignees) {
+        this.issues = issues;
+        this.assignees = assignees;
+    }
 
     @Data
     @NoArgsConstructor
@@ -42,5 +52,22 @@ public class LLMDataDTO {
         private Double averageEfficiencyScore;
         private Double totalCostIncurred;
     }
-}
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SummaryDTO {
+        // Null when the summary covers every project
+        private String projectKey;
+        private long totalIssues;
+        // Issues with status Done
+        private long completedIssues;
+        // Over all issues, an issue without recorded time counting as 0; null when there are none
+        private Double averageTimeHours;
+        private double totalCost;
+        private Map<String, Long> issuesByStatus;
+        // Issues listed in full, ranked by relevance to the prompt; the rest are only counted above
+        private int issuesIncluded;
+        private long issuesOmitted;
+    }
+}
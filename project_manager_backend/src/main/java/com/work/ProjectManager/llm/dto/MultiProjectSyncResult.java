@@ -0,0 +1,22 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of syncing every Jira project, with one entry per project
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiProjectSyncResult {
+    private SyncMode mode;
+    private int concurrency;
+    private int projectsSucceeded;
+    private int projectsFailed;
+    private long durationMs;
+    private List<SyncResult> projects;
+}
@@ -0,0 +1,20 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk hourly cost update
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingResult {
+    private int assigneesUpdated;
+    private int issuesRepriced;
+    // Account ids without an assignee performance row; their rates were not applied
+    private List<String> unknownAccountIds;
+}
@@ -0,0 +1,19 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Duration percentiles of one project's successful syncs within a time window
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDurationStats {
+    private String projectKey;
+    private int runs;
+    private long p50DurationMs;
+    private long p95DurationMs;
+    private long maxDurationMs;
+}
@@ -0,0 +1,11 @@
+package com.work.ProjectManager.llm.dto;
+
+/**
+ * How much of a project a sync pulls from Jira
+ */
+public enum SyncMode {
+    /** Only issues updated since the project's stored watermark */
+    INCREMENTAL,
+    /** Every issue of the project, regardless of the watermark */
+    FULL
+}
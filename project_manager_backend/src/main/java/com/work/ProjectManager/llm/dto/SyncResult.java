@@ -0,0 +1,37 @@
+package com.work.ProjectManager.llm.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of syncing one project from Jira
+ */
+@Data
+@NoArgsConstructor
+public class SyncResult {
+    private String projectKey;
+    private SyncMode mode;
+    private int issuesSeen;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int skipped;
+    // Stored issues a full sync no longer found in Jira
+    private int deleted;
+    private long durationMs;
+    // Set when the sync failed; counts then cover only what was written before the failure
+    private String error;
+
+    public SyncResult(String projectKey, SyncMode mode) {
+        this.projectKey = projectKey;
+        this.mode = mode;
+    }
+
+    public void add(BatchWriteResult batch) {
+        issuesSeen += batch.getTotal();
+        inserted += batch.getInserted();
+        updated += batch.getUpdated();
+        unchanged += batch.getUnchanged();
+        skipped += batch.getSkipped();
+    }
+}
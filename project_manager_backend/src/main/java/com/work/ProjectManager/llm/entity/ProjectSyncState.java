@@ -0,0 +1,31 @@
+package com.work.ProjectManager.llm.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "project_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSyncState {
+    @Id
+    @Column(name = "project_key", nullable = false, unique = true)
+    private String projectKey;
+
+    // Latest Jira "updated" instant seen by a completed sync; incremental syncs start from here.
+    // A new column: the old zone-less updated_watermark values cannot be converted reliably
+    @Column(name = "updated_watermark_utc")
+    private Instant updatedWatermark;
+
+    @Column(name = "last_incremental_sync")
+    private LocalDateTime lastIncrementalSync;
+
+    @Column(name = "last_full_sync")
+    private LocalDateTime lastFullSync;
+}
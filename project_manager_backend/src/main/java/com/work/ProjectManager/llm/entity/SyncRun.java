@@ -0,0 +1,80 @@
+package com.work.ProjectManager.llm.entity;
+
+import com.work.ProjectManager.llm.dto.SyncMode;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One project sync, recorded when it finishes (successfully or not)
+ */
+@Entity
+@Table(name = "sync_run", indexes = @Index(name = "idx_sync_run_project_started", columnList = "project_key, started_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_key", nullable = false)
+    private String projectKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false)
+    private SyncMode mode;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+
+    @Column(name = "succeeded", nullable = false)
+    private Boolean succeeded;
+
+    @Column(name = "error", length = 2000)
+    private String error;
+
+    @Column(name = "pages_fetched")
+    private Long pagesFetched;
+
+    @Column(name = "issues_seen")
+    private Integer issuesSeen;
+
+    @Column(name = "inserted")
+    private Integer inserted;
+
+    @Column(name = "updated")
+    private Integer updated;
+
+    @Column(name = "unchanged")
+    private Integer unchanged;
+
+    @Column(name = "skipped")
+    private Integer skipped;
+
+    @Column(name = "jira_retries")
+    private Long jiraRetries;
+
+    // Time per phase (see SyncMetrics); recalculate is only set for single-project syncs,
+    // since a multi-project run recalculates once for all projects
+    @Column(name = "fetch_ms")
+    private Long fetchMs;
+
+    @Column(name = "map_ms")
+    private Long mapMs;
+
+    @Column(name = "persist_ms")
+    private Long persistMs;
+
+    @Column(name = "recalculate_ms")
+    private Long recalculateMs;
+}
@@ -2,12 +2,35 @@ package com.work.ProjectManager.llm.repository;
 
 import com.work.ProjectManager.llm.entity.AssigneePerformance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AssigneePerformanceRepository extends JpaRepository<AssigneePerformance, String> {
     Optional<AssigneePerformance> findByAccountId(String accountId);
+
+    @Query("SELECT ap.accountId AS accountId, ap.hourlyCost AS hourlyCost FROM AssigneePerformance ap " +
+            "WHERE ap.hourlyCost IS NOT NULL")
+    List<HourlyRate> findConfiguredHourlyRates();
+
+    /**
+     * Recompute total cost incurred from the assignees' completed issues
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AssigneePerformance ap SET ap.totalCostIncurred = " +
+            "(SELECT COALESCE(SUM(ia.totalCost), 0.0) FROM IssueAnalysis ia " +
+            "WHERE ia.assigneeAccountId = ap.accountId AND ia.resolvedDate IS NOT NULL) " +
+            "WHERE ap.accountId IN :accountIds")
+    int refreshTotalCostIncurred(Collection<String> accountIds);
+
+    interface HourlyRate {
+        String getAccountId();
+        Double getHourlyCost();
+    }
 }
 
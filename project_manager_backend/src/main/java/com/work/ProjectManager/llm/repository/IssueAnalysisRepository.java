@@ -1,17 +1,41 @@
 package com.work.ProjectManager.llm.repository;
 
 import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IssueAnalysisRepository extends JpaRepository<IssueAnalysis, String> {
+    // Per-assignee statistics over completed issues, shared by the full and targeted recalculations
+    String COMPLETED_STATS_SELECT = "SELECT ia.assigneeAccountId AS accountId, " +
+            "MAX(ia.assigneeName) AS name, MAX(ia.assigneeEmail) AS email, " +
+            "COUNT(ia) AS completedCount, " +
+            "AVG(ia.timeTakenHours) AS averageTimeHours, " +
+            "AVG(ia.efficiencyScore) AS averageEfficiencyScore, " +
+            "SUM(ia.totalCost) AS totalCost " +
+            "FROM IssueAnalysis ia ";
+
     List<IssueAnalysis> findByProjectKey(String projectKey);
     
     List<IssueAnalysis> findByAssigneeAccountId(String accountId);
+
+    List<IssueAnalysis> findByProjectKeyOrderByCreatedDateDesc(String projectKey, Pageable pageable);
+
+    List<IssueAnalysis> findAllByOrderByCreatedDateDesc(Pageable pageable);
+
+    /**
+     * Text of the issues after a key, in key order, for paging through the table without OFFSET
+     */
+    @Query("SELECT ia.issueKey AS issueKey, ia.projectKey AS projectKey, ia.summary AS summary, " +
+            "ia.description AS description FROM IssueAnalysis ia WHERE ia.issueKey > :afterKey ORDER BY ia.issueKey")
+    List<IssueText> findIssueTextsAfter(String afterKey, Pageable pageable);
     
     List<IssueAnalysis> findByStatus(String status);
     
@@ -20,5 +44,108 @@ public interface IssueAnalysisRepository extends JpaRepository<IssueAnalysis, St
     
     @Query("SELECT ia FROM IssueAnalysis ia WHERE ia.assigneeAccountId = :accountId AND ia.resolvedDate IS NOT NULL")
     List<IssueAnalysis> findCompletedIssuesByAssignee(String accountId);
+
+    @Query("SELECT ia.assigneeAccountId AS accountId, COUNT(ia) AS completedCount, SUM(ia.timeTakenHours) AS totalHours " +
+            "FROM IssueAnalysis ia WHERE ia.assigneeAccountId IS NOT NULL AND ia.timeTakenHours IS NOT NULL " +
+            "GROUP BY ia.assigneeAccountId")
+    List<AssigneeTimeTotals> sumCompletedTimeByAssignee();
+
+    @Query("SELECT ia.assigneeAccountId AS accountId, COUNT(ia) AS completedCount, SUM(ia.timeTakenHours) AS totalHours " +
+            "FROM IssueAnalysis ia WHERE ia.assigneeAccountId IN :accountIds AND ia.timeTakenHours IS NOT NULL " +
+            "GROUP BY ia.assigneeAccountId")
+    List<AssigneeTimeTotals> sumCompletedTimeByAssignee(Collection<String> accountIds);
+
+    @Query("SELECT DISTINCT ia.assigneeAccountId FROM IssueAnalysis ia " +
+            "WHERE ia.issueKey IN :issueKeys AND ia.assigneeAccountId IS NOT NULL")
+    List<String> findAssigneeAccountIdsByIssueKeys(Collection<String> issueKeys);
+
+    @Query("SELECT ia.issueKey FROM IssueAnalysis ia WHERE ia.projectKey = :projectKey " +
+            "AND (ia.lastSynced IS NULL OR ia.lastSynced < :syncedBefore)")
+    List<String> findIssueKeysByProjectKeySyncedBefore(String projectKey, LocalDateTime syncedBefore);
+
+    @Query("SELECT DISTINCT ia.assigneeAccountId FROM IssueAnalysis ia " +
+            "WHERE ia.projectKey = :projectKey AND ia.assigneeAccountId IS NOT NULL")
+    List<String> findAssigneeAccountIdsByProjectKey(String projectKey);
+
+    /**
+     * Issue counts, hours and cost per status, over one project or every project when projectKey is null
+     */
+    @Query("SELECT ia.status AS status, COUNT(ia) AS issueCount, " +
+            "SUM(ia.timeTakenHours) AS totalHours, SUM(ia.totalCost) AS totalCost " +
+            "FROM IssueAnalysis ia WHERE :projectKey IS NULL OR ia.projectKey = :projectKey " +
+            "GROUP BY ia.status")
+    List<StatusSummary> summarizeByStatus(String projectKey);
+
+    /**
+     * Average time of an assignee's completed issues as currently stored, or null when they have none
+     */
+    @Query("SELECT AVG(ia.timeTakenHours) FROM IssueAnalysis ia " +
+            "WHERE ia.assigneeAccountId = :accountId AND ia.timeTakenHours IS NOT NULL")
+    Double averageCompletedHours(String accountId);
+
+    /**
+     * Score every completed issue of an assignee against their average time: average / time taken, clamped to [0, 1]
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IssueAnalysis ia SET ia.efficiencyScore = " +
+            "CASE WHEN ia.timeTakenHours < 0.0 THEN 0.0 " +
+            "WHEN ia.timeTakenHours <= :averageHours THEN 1.0 " +
+            "ELSE :averageHours / ia.timeTakenHours END " +
+            "WHERE ia.assigneeAccountId = :accountId AND ia.timeTakenHours IS NOT NULL")
+    int updateEfficiencyScores(String accountId, Double averageHours);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IssueAnalysis ia SET ia.efficiencyScore = :score " +
+            "WHERE ia.assigneeAccountId = :accountId AND ia.timeTakenHours IS NOT NULL")
+    int setEfficiencyScores(String accountId, Double score);
+
+    /**
+     * Re-price every completed issue of the given assignees from their current hourly cost
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IssueAnalysis ia SET " +
+            "ia.assigneeHourlyCost = (SELECT ap.hourlyCost FROM AssigneePerformance ap WHERE ap.accountId = ia.assigneeAccountId), " +
+            "ia.totalCost = ia.timeTakenHours * " +
+            "(SELECT ap.hourlyCost FROM AssigneePerformance ap WHERE ap.accountId = ia.assigneeAccountId) " +
+            "WHERE ia.assigneeAccountId IN :accountIds AND ia.timeTakenHours IS NOT NULL")
+    int repriceIssuesFromAssigneeRates(Collection<String> accountIds);
+
+    @Query(COMPLETED_STATS_SELECT + "WHERE ia.resolvedDate IS NOT NULL AND ia.assigneeAccountId IS NOT NULL " +
+            "GROUP BY ia.assigneeAccountId")
+    List<AssigneeCompletedStats> summarizeCompletedIssuesByAssignee();
+
+    @Query(COMPLETED_STATS_SELECT + "WHERE ia.resolvedDate IS NOT NULL AND ia.assigneeAccountId IN :accountIds " +
+            "GROUP BY ia.assigneeAccountId")
+    List<AssigneeCompletedStats> summarizeCompletedIssuesByAssignee(Collection<String> accountIds);
+
+    interface AssigneeCompletedStats {
+        String getAccountId();
+        String getName();
+        String getEmail();
+        Long getCompletedCount();
+        Double getAverageTimeHours();
+        Double getAverageEfficiencyScore();
+        Double getTotalCost();
+    }
+
+    interface IssueText {
+        String getIssueKey();
+        String getProjectKey();
+        String getSummary();
+        String getDescription();
+    }
+
+    interface StatusSummary {
+        String getStatus();
+        Long getIssueCount();
+        Double getTotalHours();
+        Double getTotalCost();
+    }
+
+    interface AssigneeTimeTotals {
+        String getAccountId();
+        Long getCompletedCount();
+        Double getTotalHours();
+    }
 }
 
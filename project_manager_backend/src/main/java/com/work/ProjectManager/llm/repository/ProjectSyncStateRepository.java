@@ -0,0 +1,9 @@
+package com.work.ProjectManager.llm.repository;
+
+import com.work.ProjectManager.llm.entity.ProjectSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProjectSyncStateRepository extends JpaRepository<ProjectSyncState, String> {
+}
@@ -0,0 +1,27 @@
+package com.work.ProjectManager.llm.repository;
+
+import com.work.ProjectManager.llm.entity.SyncRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+
+    List<SyncRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+
+    List<SyncRun> findByProjectKeyOrderByStartedAtDesc(String projectKey, Pageable pageable);
+
+    @Query("SELECT r.projectKey AS projectKey, r.durationMs AS durationMs FROM SyncRun r " +
+            "WHERE r.succeeded = true AND r.startedAt >= :since")
+    List<RunDuration> findSucceededDurationsSince(LocalDateTime since);
+
+    interface RunDuration {
+        String getProjectKey();
+        Long getDurationMs();
+    }
+}
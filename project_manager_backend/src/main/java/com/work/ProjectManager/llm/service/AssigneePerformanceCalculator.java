@@ -0,0 +1,114 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository.AssigneeCompletedStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds assignee performance rows from grouped aggregates over their completed issues.
+ * The averages, counts and cost totals are computed by the database, so the work done here
+ * grows with the number of assignees recalculated rather than with the issue table.
+ */
+@Component
+@RequiredArgsConstructor
+public class AssigneePerformanceCalculator {
+
+    // Keeps IN lists well below database parameter limits
+    private static final int ACCOUNT_ID_BATCH_SIZE = 500;
+
+    private final IssueAnalysisRepository issueAnalysisRepository;
+    private final AssigneePerformanceRepository assigneePerformanceRepository;
+    private final HourlyRateCache hourlyRateCache;
+    private final DataVersionTracker dataVersionTracker;
+
+    /**
+     * Recalculate every assignee that has completed issues
+     */
+    @Transactional
+    public int recalculateAll() {
+        List<AssigneeCompletedStats> stats = issueAnalysisRepository.summarizeCompletedIssuesByAssignee();
+        Set<String> accountIds = stats.stream()
+                .map(AssigneeCompletedStats::getAccountId)
+                .collect(Collectors.toSet());
+        apply(accountIds, stats);
+        return stats.size();
+    }
+
+    /**
+     * Recalculate only the given assignees; those left without completed issues are reset to zero
+     */
+    @Transactional
+    public int recalculate(Collection<String> accountIds) {
+        List<String> ids = new ArrayList<>(new HashSet<>(accountIds));
+        int recalculated = 0;
+        for (int from = 0; from < ids.size(); from += ACCOUNT_ID_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + ACCOUNT_ID_BATCH_SIZE, ids.size()));
+            recalculated += apply(batch, issueAnalysisRepository.summarizeCompletedIssuesByAssignee(batch));
+        }
+        return recalculated;
+    }
+
+    private int apply(Collection<String> accountIds, List<AssigneeCompletedStats> stats) {
+        Map<String, AssigneePerformance> existing = assigneePerformanceRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(AssigneePerformance::getAccountId, Function.identity()));
+        Map<String, AssigneeCompletedStats> statsById = stats.stream()
+                .collect(Collectors.toMap(AssigneeCompletedStats::getAccountId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<AssigneePerformance> changed = new ArrayList<>();
+        for (String accountId : accountIds) {
+            AssigneeCompletedStats stat = statsById.get(accountId);
+            AssigneePerformance perf = existing.get(accountId);
+            if (stat == null) {
+                if (perf != null) {
+                    // All of their completed issues were reopened or reassigned
+                    perf.setTotalIssuesCompleted(0);
+                    perf.setAverageTimeHours(0.0);
+                    perf.setAverageEfficiencyScore(0.0);
+                    perf.setTotalCostIncurred(0.0);
+                    perf.setLastUpdated(now);
+                    changed.add(perf);
+                }
+                continue;
+            }
+            if (perf == null) {
+                perf = new AssigneePerformance();
+                perf.setAccountId(accountId);
+            }
+            perf.setName(stat.getName());
+            perf.setEmail(stat.getEmail());
+            perf.setAverageTimeHours(stat.getAverageTimeHours() != null ? stat.getAverageTimeHours() : 0.0);
+            perf.setAverageEfficiencyScore(stat.getAverageEfficiencyScore() != null ? stat.getAverageEfficiencyScore() : 0.0);
+            perf.setTotalIssuesCompleted(stat.getCompletedCount() != null ? stat.getCompletedCount().intValue() : 0);
+            perf.setTotalCostIncurred(stat.getTotalCost() != null ? stat.getTotalCost() : 0.0);
+
+            // Set hourly cost if not already set (default rate if not configured)
+            if (perf.getHourlyCost() == null) {
+                perf.setHourlyCost(hourlyRateCache.getDefaultHourlyRate());
+                hourlyRateCache.put(accountId, perf.getHourlyCost());
+            }
+
+            perf.setLastUpdated(now);
+            changed.add(perf);
+        }
+        assigneePerformanceRepository.saveAll(changed);
+        if (!changed.isEmpty()) {
+            dataVersionTracker.sharedDataChanged();
+        }
+        return statsById.size();
+    }
+}
@@ -0,0 +1,127 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running per-assignee totals (count and summed hours) of completed issues.
+ * Loaded once per sync with a single grouped query and kept current in memory as rows are
+ * inserted or changed. They decide which assignees are rescored; the averages the scores
+ * are computed against are read from the stored rows at that point.
+ */
+public class AssigneeTimeAggregates {
+
+    private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+    private final Set<String> rescoredAccountIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> changedAccountIds = ConcurrentHashMap.newKeySet();
+
+    public static AssigneeTimeAggregates load(IssueAnalysisRepository issueAnalysisRepository) {
+        return from(issueAnalysisRepository.sumCompletedTimeByAssignee());
+    }
+
+    /**
+     * Load totals for the given assignees only; rows of any other assignee must not be passed to {@link #replace}
+     */
+    public static AssigneeTimeAggregates load(IssueAnalysisRepository issueAnalysisRepository, Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return new AssigneeTimeAggregates();
+        }
+        return from(issueAnalysisRepository.sumCompletedTimeByAssignee(accountIds));
+    }
+
+    private static AssigneeTimeAggregates from(List<IssueAnalysisRepository.AssigneeTimeTotals> rows) {
+        AssigneeTimeAggregates aggregates = new AssigneeTimeAggregates();
+        for (IssueAnalysisRepository.AssigneeTimeTotals row : rows) {
+            long count = row.getCompletedCount() != null ? row.getCompletedCount() : 0L;
+            double hours = row.getTotalHours() != null ? row.getTotalHours() : 0.0;
+            if (count > 0) {
+                aggregates.totals.put(row.getAccountId(), new Totals(count, hours));
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * Account for a row changing from {@code before} to {@code after}; either side may be null
+     */
+    public void replace(IssueAnalysis before, IssueAnalysis after) {
+        trackChanged(before);
+        trackChanged(after);
+        if (before != null && after != null
+                && contributes(before) && contributes(after)
+                && before.getAssigneeAccountId().equals(after.getAssigneeAccountId())
+                && before.getTimeTakenHours().equals(after.getTimeTakenHours())) {
+            return;
+        }
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    /**
+     * Average completed-issue time for an assignee, or null when they have none
+     */
+    public Double averageHours(String accountId) {
+        Totals t = totals.get(accountId);
+        return t != null ? t.hours() / t.count() : null;
+    }
+
+    /**
+     * Assignees whose totals changed since the aggregates were loaded, and so need rescoring
+     */
+    public Set<String> getRescoredAccountIds() {
+        return Collections.unmodifiableSet(rescoredAccountIds);
+    }
+
+    /**
+     * Assignees of every row inserted or changed since the aggregates were loaded
+     */
+    public Set<String> getChangedAccountIds() {
+        return Collections.unmodifiableSet(changedAccountIds);
+    }
+
+    private void trackChanged(IssueAnalysis row) {
+        if (row != null && row.getAssigneeAccountId() != null) {
+            changedAccountIds.add(row.getAssigneeAccountId());
+        }
+    }
+
+    private void add(IssueAnalysis row) {
+        if (!contributes(row)) {
+            return;
+        }
+        totals.merge(row.getAssigneeAccountId(), new Totals(1, row.getTimeTakenHours()), Totals::plus);
+        rescoredAccountIds.add(row.getAssigneeAccountId());
+    }
+
+    private void remove(IssueAnalysis row) {
+        if (!contributes(row)) {
+            return;
+        }
+        totals.computeIfPresent(row.getAssigneeAccountId(), (id, t) -> {
+            Totals reduced = new Totals(t.count() - 1, t.hours() - row.getTimeTakenHours());
+            return reduced.count() > 0 ? reduced : null;
+        });
+        rescoredAccountIds.add(row.getAssigneeAccountId());
+    }
+
+    private static boolean contributes(IssueAnalysis row) {
+        return row.getAssigneeAccountId() != null && row.getTimeTakenHours() != null;
+    }
+
+    private record Totals(long count, double hours) {
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, hours + other.hours);
+        }
+    }
+}
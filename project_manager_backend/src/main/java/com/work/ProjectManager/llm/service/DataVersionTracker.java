@@ -0,0 +1,60 @@
+package com.work.ProjectManager.llm.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamps of the analysis data, for caches of anything derived from it.
+ * A project's stamp changes whenever one of its issue rows is written or deleted, and every
+ * stamp changes when data shared by all projects changes (assignee statistics, efficiency
+ * scores, hourly costs). Stamps move only after the write has committed, so a value computed
+ * after reading a stamp never reflects older data than that stamp.
+ */
+@Component
+public class DataVersionTracker {
+
+    // Distinguishes stamps issued by this process from those of an earlier run
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong allVersion = new AtomicLong();
+    private final AtomicLong sharedVersion = new AtomicLong();
+    private final Map<String, AtomicLong> projectVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Current stamp of one project's data, or of all data when projectKey is null or blank
+     */
+    public String version(String projectKey) {
+        if (projectKey == null || projectKey.isBlank()) {
+            return epoch + "-" + allVersion.get();
+        }
+        AtomicLong project = projectVersions.get(projectKey);
+        return epoch + "-" + sharedVersion.get() + "." + (project != null ? project.get() : 0);
+    }
+
+    /**
+     * Issue rows of these projects changed; takes effect when the surrounding transaction commits
+     */
+    public void projectsChanged(Collection<String> projectKeys) {
+        if (projectKeys.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            projectKeys.forEach(key -> projectVersions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet());
+            allVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * Data seen by every project changed; takes effect when the surrounding transaction commits
+     */
+    public void sharedDataChanged() {
+        TransactionCallbacks.afterCommit(() -> {
+            sharedVersion.incrementAndGet();
+            allVersion.incrementAndGet();
+        });
+    }
+}
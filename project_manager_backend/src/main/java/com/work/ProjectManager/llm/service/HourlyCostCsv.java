@@ -0,0 +1,108 @@
+package com.work.ProjectManager.llm.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses {@code accountId,hourlyCost} CSV uploads. A header row (the first row that is not
+ * blank or a comment), blank lines and lines starting with '#' are ignored; later rows win for repeated account ids.
+ * Fields may be double-quoted to contain commas, with {@code ""} for a literal quote; a quoted
+ * field cannot span lines.
+ */
+public final class HourlyCostCsv {
+
+    private HourlyCostCsv() {
+    }
+
+    public static Map<String, Double> parse(InputStream input) throws IOException {
+        Map<String, Double> costs = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            boolean firstRow = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                List<String> columns = fields(trimmed, lineNumber);
+                if (columns.size() != 2) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": expected accountId,hourlyCost");
+                }
+                String accountId = columns.get(0);
+                String cost = columns.get(1);
+                boolean header = firstRow && !looksNumeric(cost);
+                firstRow = false;
+                if (header) {
+                    continue;
+                }
+                try {
+                    costs.put(accountId, Double.parseDouble(cost));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": invalid hourly cost '" + cost + "'");
+                }
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Split a row into its stripped, unquoted field values
+     */
+    private static List<String> fields(String row, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            while (pos < row.length() && Character.isWhitespace(row.charAt(pos))) {
+                pos++;
+            }
+            if (pos < row.length() && row.charAt(pos) == '"') {
+                StringBuilder value = new StringBuilder();
+                pos++;
+                while (true) {
+                    if (pos >= row.length()) {
+                        throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+                    }
+                    char c = row.charAt(pos++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (pos < row.length() && row.charAt(pos) == '"') {
+                        value.append('"');
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+                while (pos < row.length() && Character.isWhitespace(row.charAt(pos))) {
+                    pos++;
+                }
+                if (pos < row.length() && row.charAt(pos) != ',') {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unexpected text after a quoted field");
+                }
+                fields.add(value.toString().strip());
+            } else {
+                int comma = row.indexOf(',', pos);
+                int end = comma >= 0 ? comma : row.length();
+                fields.add(row.substring(pos, end).strip());
+                pos = end;
+            }
+            if (pos >= row.length()) {
+                return fields;
+            }
+            // Skip the comma
+            pos++;
+        }
+    }
+
+    private static boolean looksNumeric(String value) {
+        return !value.isEmpty() && (Character.isDigit(value.charAt(0)) || value.charAt(0) == '.' || value.charAt(0) == '-');
+    }
+}
@@ -0,0 +1,95 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every configured assignee hourly rate, used to price issues during sync.
+ * Reloaded with one query at the start of each sync and written through when a rate changes,
+ * so pricing an issue never needs a database round trip.
+ * Hits and misses are published as {@code cache.gets{cache=hourlyRates}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HourlyRateCache {
+
+    private static final String CACHE_NAME = "hourlyRates";
+
+    private final AssigneePerformanceRepository assigneePerformanceRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Value("${cost.default-hourly-rate:50.0}")
+    private double defaultHourlyRate;
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void registerMetrics() {
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Hourly rate lookups answered by a configured rate")
+                .register(meterRegistry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Hourly rate lookups that fell back to the default rate")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", rates, Map::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replace the cached rates with what is currently stored
+     */
+    public void reload() {
+        Map<String, Double> fresh = new ConcurrentHashMap<>();
+        assigneePerformanceRepository.findConfiguredHourlyRates()
+                .forEach(rate -> fresh.put(rate.getAccountId(), rate.getHourlyCost()));
+        rates.keySet().retainAll(fresh.keySet());
+        rates.putAll(fresh);
+        loaded = true;
+    }
+
+    /**
+     * Hourly rate for an assignee, or the configured default when they have none
+     */
+    public double rateFor(String accountId) {
+        if (!loaded) {
+            reload();
+        }
+        Double rate = rates.get(accountId);
+        if (rate != null) {
+            hits.increment();
+            return rate;
+        }
+        misses.increment();
+        return defaultHourlyRate;
+    }
+
+    /**
+     * Write a changed rate through to the cache, once the surrounding transaction (if any) commits
+     */
+    public void put(String accountId, Double hourlyCost) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (hourlyCost != null) {
+                rates.put(accountId, hourlyCost);
+            } else {
+                rates.remove(accountId);
+            }
+        });
+    }
+
+    public double getDefaultHourlyRate() {
+        return defaultHourlyRate;
+    }
+}
@@ -0,0 +1,151 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based upsert of issue analysis rows.
+ * Each call loads all existing rows of the chunk with one query, maps every issue before
+ * anything is written (so no query triggers an early flush), and lets Hibernate send the
+ * resulting inserts and updates as JDBC batches when the chunk's transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class IssueAnalysisBulkWriter {
+
+    private final IssueAnalysisRepository issueAnalysisRepository;
+    private final IssueAnalysisMapper issueAnalysisMapper;
+    private final SyncMetrics syncMetrics;
+    private final IssueSearchIndex issueSearchIndex;
+    private final DataVersionTracker dataVersionTracker;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Insert new issues and update changed ones in a single transaction.
+     * Rows whose mapped content is identical to what is stored are left untouched.
+     */
+    @Transactional
+    public BatchWriteResult upsert(List<JiraIssueDTO> issues, AssigneeTimeAggregates aggregates) {
+        BatchWriteResult result = new BatchWriteResult();
+
+        // Last occurrence wins when the same key shows up twice in one chunk
+        Map<String, JiraIssueDTO> byKey = new LinkedHashMap<>();
+        for (JiraIssueDTO issue : issues) {
+            if (!issueAnalysisMapper.isMappable(issue)) {
+                result.setSkipped(result.getSkipped() + 1);
+            } else if (byKey.put(issue.getKey(), issue) != null) {
+                result.setSkipped(result.getSkipped() + 1);
+            }
+        }
+        if (byKey.isEmpty()) {
+            return result;
+        }
+
+        Map<String, IssueAnalysis> existing = issueAnalysisRepository.findAllById(byKey.keySet()).stream()
+                .collect(Collectors.toMap(IssueAnalysis::getIssueKey, Function.identity()));
+        long mapStart = System.nanoTime();
+        List<IssueAnalysis> mapped = byKey.values().stream()
+                .map(issueAnalysisMapper::toIssueAnalysis)
+                .toList();
+        result.setMapNanos(System.nanoTime() - mapStart);
+        syncMetrics.record(SyncMetrics.MAP, result.getMapNanos());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<IssueAnalysis> written = new ArrayList<>();
+        for (IssueAnalysis row : mapped) {
+            IssueAnalysis current = existing.get(row.getIssueKey());
+            if (current == null) {
+                row.setLastSynced(now);
+                aggregates.replace(null, row);
+                entityManager.persist(row);
+                written.add(row);
+                result.setInserted(result.getInserted() + 1);
+                continue;
+            }
+            // Keep the stored score until applyEfficiencyScores recomputes it for the assignee
+            if (row.getTimeTakenHours() != null && row.getAssigneeAccountId() != null) {
+                row.setEfficiencyScore(current.getEfficiencyScore());
+            }
+            row.setLastSynced(current.getLastSynced());
+            if (row.equals(current)) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else {
+                row.setLastSynced(now);
+                aggregates.replace(current, row);
+                // current is managed, so merge copies the new state onto it without another SELECT
+                entityManager.merge(row);
+                written.add(row);
+                result.setUpdated(result.getUpdated() + 1);
+            }
+        }
+        issueSearchIndex.index(written);
+        dataVersionTracker.projectsChanged(projectKeys(written));
+        return result;
+    }
+
+    /**
+     * Rescore every completed issue of the assignees whose totals changed.
+     * Each assignee's average is read from the stored rows in this transaction, not taken from the
+     * run's aggregates, so it includes writes committed since they were loaded by concurrent syncs
+     * and webhooks; each assignee then costs a single UPDATE.
+     */
+    @Transactional
+    public void applyEfficiencyScores(AssigneeTimeAggregates aggregates) {
+        if (!aggregates.getRescoredAccountIds().isEmpty()) {
+            // Rescored issues may belong to any project
+            dataVersionTracker.sharedDataChanged();
+        }
+        for (String accountId : aggregates.getRescoredAccountIds()) {
+            Double averageHours = issueAnalysisRepository.averageCompletedHours(accountId);
+            if (averageHours == null) {
+                continue;
+            }
+            if (averageHours > 0) {
+                issueAnalysisRepository.updateEfficiencyScores(accountId, averageHours);
+            } else {
+                // No meaningful average to compare against
+                issueAnalysisRepository.setEfficiencyScores(accountId, 0.5);
+            }
+        }
+    }
+
+    /**
+     * Delete issues by key, removing them from the running aggregates first
+     */
+    @Transactional
+    public int delete(Collection<String> issueKeys, AssigneeTimeAggregates aggregates) {
+        List<IssueAnalysis> rows = issueAnalysisRepository.findAllById(issueKeys);
+        rows.forEach(row -> aggregates.replace(row, null));
+        issueAnalysisRepository.deleteAllInBatch(rows);
+        issueSearchIndex.remove(rows.stream().map(IssueAnalysis::getIssueKey).toList());
+        dataVersionTracker.projectsChanged(projectKeys(rows));
+        return rows.size();
+    }
+
+    private static Set<String> projectKeys(List<IssueAnalysis> rows) {
+        return rows.stream()
+                .map(IssueAnalysis::getProjectKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,77 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Maps Jira issues onto issue analysis rows, including derived time and cost values
+ */
+@Component
+@RequiredArgsConstructor
+public class IssueAnalysisMapper {
+
+    private final HourlyRateCache hourlyRateCache;
+
+    /**
+     * Whether the Jira issue carries enough data to be stored
+     */
+    public boolean isMappable(JiraIssueDTO jiraIssue) {
+        return jiraIssue != null && jiraIssue.getKey() != null && jiraIssue.getFields() != null;
+    }
+
+    /**
+     * Build a fresh issue analysis row from Jira issue data.
+     * lastSynced is left for the caller to set; efficiency scores depend on the assignee's
+     * whole history and are applied per assignee once a batch is written
+     * (see {@link IssueAnalysisBulkWriter#applyEfficiencyScores}).
+     */
+    public IssueAnalysis toIssueAnalysis(JiraIssueDTO jiraIssue) {
+        IssueAnalysis analysis = new IssueAnalysis();
+        analysis.setIssueKey(jiraIssue.getKey());
+
+        // Project key is required - extract from issue key if project is null
+        String projectKey = jiraIssue.getFields().getProject() != null
+                ? jiraIssue.getFields().getProject().getKey()
+                : (jiraIssue.getKey() != null && jiraIssue.getKey().contains("-")
+                        ? jiraIssue.getKey().substring(0, jiraIssue.getKey().indexOf("-"))
+                        : "UNKNOWN");
+        analysis.setProjectKey(projectKey);
+        analysis.setSummary(jiraIssue.getFields().getSummary());
+        analysis.setDescription(jiraIssue.getFields().getDescription());
+        analysis.setStatus(jiraIssue.getFields().getStatus() != null
+                ? jiraIssue.getFields().getStatus().getName()
+                : null);
+
+        // Parse dates
+        analysis.setCreatedDate(jiraIssue.parseJiraDate(jiraIssue.getFields().getCreated()));
+        analysis.setResolvedDate(jiraIssue.parseJiraDate(jiraIssue.getFields().getResolutiondate()));
+
+        // Set assignee information
+        if (jiraIssue.getFields().getAssignee() != null) {
+            analysis.setAssigneeAccountId(jiraIssue.getFields().getAssignee().getAccountId());
+            analysis.setAssigneeName(jiraIssue.getFields().getAssignee().getDisplayName());
+            analysis.setAssigneeEmail(jiraIssue.getFields().getAssignee().getEmailAddress());
+        }
+
+        // Calculate time taken if resolved
+        if (analysis.getCreatedDate() != null && analysis.getResolvedDate() != null) {
+            Duration duration = Duration.between(analysis.getCreatedDate(), analysis.getResolvedDate());
+            analysis.setTimeTakenHours(duration.toHours() + (duration.toMinutes() % 60) / 60.0);
+        }
+
+        // Get assignee hourly cost from the rate cache (falls back to the default rate)
+        if (analysis.getAssigneeAccountId() != null) {
+            analysis.setAssigneeHourlyCost(hourlyRateCache.rateFor(analysis.getAssigneeAccountId()));
+
+            // Calculate total cost if time is available
+            if (analysis.getTimeTakenHours() != null && analysis.getAssigneeHourlyCost() != null) {
+                analysis.setTotalCost(analysis.getAssigneeHourlyCost() * analysis.getTimeTakenHours());
+            }
+        }
+        return analysis;
+    }
+}
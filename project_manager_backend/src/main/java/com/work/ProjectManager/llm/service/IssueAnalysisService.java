@@ -2,221 +2,354 @@ package com.work.ProjectManager.llm.service;
 
 import com.work.ProjectManager.jira.dto.JiraIssueDTO;
 import com.work.ProjectManager.jira.service.JiraService;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import com.work.ProjectManager.llm.dto.IssueSearchHitDTO;
+import com.work.ProjectManager.llm.dto.RepricingResult;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
 import com.work.ProjectManager.llm.entity.AssigneePerformance;
 import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.entity.ProjectSyncState;
 import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
 import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import com.work.ProjectManager.llm.repository.ProjectSyncStateRepository;
+import com.work.ProjectManager.utils.JiraDateParser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class IssueAnalysisService {
 
+    // Assignees re-priced per set-based UPDATE; keeps IN lists well below database parameter limits
+    private static final int REPRICING_BATCH_SIZE = 500;
+    // Issues deleted per batch when a full sync removes issues Jira no longer returns
+    private static final int DELETE_BATCH_SIZE = 500;
+
     private final JiraService jiraService;
     private final IssueAnalysisRepository issueAnalysisRepository;
     private final AssigneePerformanceRepository assigneePerformanceRepository;
+    private final ProjectSyncStateRepository projectSyncStateRepository;
+    private final IssueAnalysisBulkWriter issueAnalysisBulkWriter;
+    private final AssigneePerformanceCalculator assigneePerformanceCalculator;
+    private final HourlyRateCache hourlyRateCache;
+    private final SyncMetrics syncMetrics;
+    private final SyncRunLedger syncRunLedger;
+    private final IssueSearchIndex issueSearchIndex;
+    private final DataVersionTracker dataVersionTracker;
+
+    // Blocking JPA work; bounded below the connection pool size
+    @Qualifier("syncDbScheduler")
+    private final Scheduler syncDbScheduler;
+
+    @Qualifier("syncJiraScheduler")
+    private final Scheduler syncJiraScheduler;
+
+    // Project syncs currently running, keyed by project key
+    private final Map<String, InFlightSync> syncsInFlight = new ConcurrentHashMap<>();
+
+    @Value("${sync.chunk-size:25}")
+    private int syncChunkSize;
+
+    // Re-read this much before the watermark to cover clock skew and JQL's minute precision
+    @Value("${sync.watermark-overlap-minutes:1}")
+    private long watermarkOverlapMinutes;
+
+    /**
+     * Incrementally sync issues from Jira for a project and store analysis data
+     */
+    public Mono<SyncResult> syncIssuesForProject(String projectKey) {
+        return syncIssuesForProject(projectKey, SyncMode.INCREMENTAL);
+    }
+
+    /**
+     * Sync issues from Jira for a project and store analysis data.
+     * INCREMENTAL only asks Jira for issues updated since the project's watermark
+     * (falling back to a full sync when none is stored yet); FULL re-reads the whole project.
+     */
+    public Mono<SyncResult> syncIssuesForProject(String projectKey, SyncMode mode) {
+        return syncRunLedger.track(projectKey, mode, prepareSync()
+                .flatMap(aggregates -> storeProjectIssues(projectKey, mode, aggregates)
+                        .flatMap(result -> refreshAssigneeMetrics(aggregates).thenReturn(result))));
+    }
+
+    /**
+     * Persist a stream of Jira issues and refresh the derived metrics of every assignee they touch
+     */
+    public Mono<SyncResult> ingestIssues(Flux<JiraIssueDTO> issues, SyncResult result) {
+        return prepareSync()
+                .flatMap(aggregates -> ingestIssues(issues, result, aggregates)
+                        .flatMap(ingested -> refreshAssigneeMetrics(aggregates).thenReturn(ingested)));
+    }
 
     /**
-     * Sync issues from Jira for a project and store analysis data
+     * Start a sync run: reload hourly rates and load per-assignee time totals once.
+     * The returned aggregates may be shared by several project syncs running in parallel.
      */
-    public Mono<Void> syncIssuesForProject(String projectKey) {
-        return jiraService.getIssuesByProject(projectKey)
-                .flatMap(issues -> Mono.fromCallable(() -> {
-                    // Execute blocking database operations in a transaction
-                    saveIssuesBatch(issues);
-                    return null;
-                }))
-                .then(Mono.fromCallable(() -> {
-                    // Recalculate assignee performance after syncing
-                    recalculateAssigneePerformance();
-                    return null;
-                }))
-                .then();
+    public Mono<AssigneeTimeAggregates> prepareSync() {
+        return Mono.fromCallable(() -> {
+                    hourlyRateCache.reload();
+                    return AssigneeTimeAggregates.load(issueAnalysisRepository);
+                })
+                .subscribeOn(syncDbScheduler);
     }
 
     /**
-     * Save a batch of issues in a single transaction
+     * Fetch and persist a project's issues without refreshing assignee metrics.
+     * The watermark only advances once every chunk has been persisted. A full sync also deletes
+     * the stored issues Jira no longer returned, which repairs deletions whose webhook was lost.
+     * Syncs of one project never overlap: a request for the mode already running joins that
+     * sync, a request for the other mode starts once it has finished.
+     */
+    public Mono<SyncResult> storeProjectIssues(String projectKey, SyncMode mode, AssigneeTimeAggregates aggregates) {
+        return Mono.defer(() -> {
+            AtomicReference<InFlightSync> self = new AtomicReference<>();
+            Mono<SyncResult> candidate = runProjectSync(projectKey, mode, aggregates)
+                    .doOnTerminate(() -> syncsInFlight.remove(projectKey, self.get()))
+                    .doOnCancel(() -> syncsInFlight.remove(projectKey, self.get()))
+                    .share();
+            self.set(new InFlightSync(mode, candidate));
+            InFlightSync running = syncsInFlight.putIfAbsent(projectKey, self.get());
+            if (running == null) {
+                return candidate;
+            }
+            if (running.mode() == mode) {
+                return running.result();
+            }
+            return running.result()
+                    .onErrorResume(e -> Mono.empty())
+                    .then(Mono.defer(() -> storeProjectIssues(projectKey, mode, aggregates)));
+        });
+    }
+
+    private Mono<SyncResult> runProjectSync(String projectKey, SyncMode mode, AssigneeTimeAggregates aggregates) {
+        return Mono.defer(() -> {
+            AtomicReference<Instant> maxUpdated = new AtomicReference<>();
+            Set<String> seenKeys = ConcurrentHashMap.newKeySet();
+            SyncResult result = new SyncResult(projectKey, mode);
+            LocalDateTime startedAt = LocalDateTime.now();
+            long startNanos = System.nanoTime();
+            return Mono.fromCallable(() -> projectSyncStateRepository.findById(projectKey))
+                    .subscribeOn(syncDbScheduler)
+                    .flatMap(state -> ingestIssues(
+                            fetchIssues(projectKey, mode, state)
+                                    // Response handling leaves the Netty event loop for the Jira scheduler
+                                    .publishOn(syncJiraScheduler)
+                                    .doOnNext(issue -> {
+                                        trackUpdated(issue, maxUpdated);
+                                        if (mode == SyncMode.FULL && issue.getKey() != null) {
+                                            seenKeys.add(issue.getKey());
+                                        }
+                                    }),
+                            result, aggregates))
+                    .flatMap(stored -> Mono.fromCallable(() -> {
+                        if (mode == SyncMode.FULL) {
+                            stored.setDeleted(deleteMissingIssues(projectKey, seenKeys, startedAt, aggregates));
+                        }
+                        advanceWatermark(projectKey, mode, maxUpdated.get());
+                        stored.setDurationMs(Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+                        return stored;
+                    }).subscribeOn(syncDbScheduler));
+        });
+    }
+
+    /**
+     * Persist a stream of Jira issues in chunks of {@code sync.chunk-size}, each written by
+     * {@link IssueAnalysisBulkWriter} in its own transaction on the database scheduler.
+     * The next chunk is only requested once the previous one has been written.
+     */
+    private Mono<SyncResult> ingestIssues(Flux<JiraIssueDTO> issues, SyncResult result, AssigneeTimeAggregates aggregates) {
+        return Flux.deferContextual(ctx -> {
+                    Optional<SyncRunCounters> counters = SyncRunCounters.from(ctx);
+                    // Time from the previous chunk being written (or the start) until the next one is complete
+                    AtomicLong waitingSince = new AtomicLong(System.nanoTime());
+                    return issues
+                            .buffer(syncChunkSize)
+                            .concatMap(chunk -> {
+                                long fetchNanos = System.nanoTime() - waitingSince.get();
+                                syncMetrics.record(SyncMetrics.FETCH, fetchNanos);
+                                counters.ifPresent(c -> c.fetchNanos.add(fetchNanos));
+                                return Mono.fromCallable(() -> {
+                                            long start = System.nanoTime();
+                                            BatchWriteResult written = issueAnalysisBulkWriter.upsert(chunk, aggregates);
+                                            long persistNanos = System.nanoTime() - start;
+                                            syncMetrics.record(SyncMetrics.PERSIST, persistNanos);
+                                            counters.ifPresent(c -> c.persistNanos.add(persistNanos));
+                                            return written;
+                                        })
+                                        .subscribeOn(syncDbScheduler)
+                                        .doOnNext(written -> waitingSince.set(System.nanoTime()));
+                            }, 1)
+                            .doOnNext(batch -> {
+                                result.add(batch);
+                                syncMetrics.recordBatch(batch);
+                                counters.ifPresent(c -> c.add(batch));
+                            });
+                })
+                .then(Mono.just(result));
+    }
+
+    /**
+     * Rescore the assignees whose totals changed during the run, then recalculate the
+     * performance of every assignee whose rows changed
+     */
+    public Mono<Void> refreshAssigneeMetrics(AssigneeTimeAggregates aggregates) {
+        return Mono.deferContextual(ctx -> Mono.<Void>fromRunnable(() -> {
+            long start = System.nanoTime();
+            issueAnalysisBulkWriter.applyEfficiencyScores(aggregates);
+            assigneePerformanceCalculator.recalculate(aggregates.getChangedAccountIds());
+            long recalculateNanos = System.nanoTime() - start;
+            syncMetrics.record(SyncMetrics.RECALCULATE, recalculateNanos);
+            SyncRunCounters.from(ctx).ifPresent(c -> c.recalculateNanos.add(recalculateNanos));
+        })).subscribeOn(syncDbScheduler);
+    }
+
+    /**
+     * Apply a micro-batch of pushed issue changes (webhooks) through the same mapping and bulk
+     * write path as a sync. Only the totals of the assignees involved are loaded, and only those
+     * assignees are rescored and recalculated afterwards. Blocking; call off the event loop.
+     * Runs as one transaction: a retried batch must not find its rows already written, or the
+     * assignees they changed would never be rescored.
      */
     @Transactional
-    private void saveIssuesBatch(JiraIssueDTO[] issues) {
-        for (JiraIssueDTO issue : issues) {
-            saveOrUpdateIssueAnalysis(issue);
+    public BatchWriteResult applyIssueChanges(List<JiraIssueDTO> upserts, Collection<String> deletedKeys) {
+        Set<String> issueKeys = new HashSet<>(deletedKeys);
+        Set<String> accountIds = new HashSet<>();
+        for (JiraIssueDTO issue : upserts) {
+            issueKeys.add(issue.getKey());
+            if (issue.getFields() != null && issue.getFields().getAssignee() != null
+                    && issue.getFields().getAssignee().getAccountId() != null) {
+                accountIds.add(issue.getFields().getAssignee().getAccountId());
+            }
         }
+        issueKeys.remove(null);
+        if (!issueKeys.isEmpty()) {
+            // Previous assignees lose the issue's time from their totals
+            accountIds.addAll(issueAnalysisRepository.findAssigneeAccountIdsByIssueKeys(issueKeys));
+        }
+
+        AssigneeTimeAggregates aggregates = AssigneeTimeAggregates.load(issueAnalysisRepository, accountIds);
+        BatchWriteResult result = upserts.isEmpty()
+                ? new BatchWriteResult()
+                : issueAnalysisBulkWriter.upsert(upserts, aggregates);
+        if (!deletedKeys.isEmpty()) {
+            issueAnalysisBulkWriter.delete(deletedKeys, aggregates);
+        }
+        issueAnalysisBulkWriter.applyEfficiencyScores(aggregates);
+        assigneePerformanceCalculator.recalculate(aggregates.getChangedAccountIds());
+        return result;
     }
 
     /**
-     * Save or update issue analysis from Jira issue data
-     * Must be called within a transaction context
+     * Delete the project's stored issues that a completed full sync did not see. Rows written
+     * since the sync started (by webhooks, or issues created while it ran) are kept.
      */
-    private void saveOrUpdateIssueAnalysis(JiraIssueDTO jiraIssue) {
-        if (jiraIssue.getKey() == null || jiraIssue.getFields() == null) {
-            return;
+    private int deleteMissingIssues(String projectKey, Set<String> seenKeys, LocalDateTime startedAt,
+                                    AssigneeTimeAggregates aggregates) {
+        List<String> missing = issueAnalysisRepository.findIssueKeysByProjectKeySyncedBefore(projectKey, startedAt)
+                .stream()
+                .filter(key -> !seenKeys.contains(key))
+                .toList();
+        int deleted = 0;
+        for (int from = 0; from < missing.size(); from += DELETE_BATCH_SIZE) {
+            deleted += issueAnalysisBulkWriter.delete(
+                    missing.subList(from, Math.min(from + DELETE_BATCH_SIZE, missing.size())), aggregates);
         }
+        return deleted;
+    }
 
-        IssueAnalysis analysis = issueAnalysisRepository.findById(jiraIssue.getKey())
-                .orElse(new IssueAnalysis());
-        
-        analysis.setIssueKey(jiraIssue.getKey());
-        
-        // Project key is required - extract from issue key if project is null
-        String projectKey = jiraIssue.getFields().getProject() != null 
-                ? jiraIssue.getFields().getProject().getKey() 
-                : (jiraIssue.getKey() != null && jiraIssue.getKey().contains("-") 
-                        ? jiraIssue.getKey().substring(0, jiraIssue.getKey().indexOf("-")) 
-                        : "UNKNOWN");
-        analysis.setProjectKey(projectKey);
-        analysis.setSummary(jiraIssue.getFields().getSummary());
-        analysis.setDescription(jiraIssue.getFields().getDescription());
-        analysis.setStatus(jiraIssue.getFields().getStatus() != null 
-                ? jiraIssue.getFields().getStatus().getName() 
-                : null);
-        
-        // Parse dates
-        analysis.setCreatedDate(jiraIssue.parseJiraDate(jiraIssue.getFields().getCreated()));
-        analysis.setResolvedDate(jiraIssue.parseJiraDate(jiraIssue.getFields().getResolutiondate()));
-        
-        // Set assignee information
-        if (jiraIssue.getFields().getAssignee() != null) {
-            analysis.setAssigneeAccountId(jiraIssue.getFields().getAssignee().getAccountId());
-            analysis.setAssigneeName(jiraIssue.getFields().getAssignee().getDisplayName());
-            analysis.setAssigneeEmail(jiraIssue.getFields().getAssignee().getEmailAddress());
+    private Flux<JiraIssueDTO> fetchIssues(String projectKey, SyncMode mode, Optional<ProjectSyncState> state) {
+        Instant watermark = state.map(ProjectSyncState::getUpdatedWatermark).orElse(null);
+        if (mode == SyncMode.FULL || watermark == null) {
+            return jiraService.streamIssuesByProject(projectKey);
         }
-        
-        // Calculate time taken if resolved
-        if (analysis.getCreatedDate() != null && analysis.getResolvedDate() != null) {
-            Duration duration = Duration.between(analysis.getCreatedDate(), analysis.getResolvedDate());
-            analysis.setTimeTakenHours(duration.toHours() + (duration.toMinutes() % 60) / 60.0);
+        return jiraService.streamIssuesUpdatedSince(projectKey, watermark.minus(Duration.ofMinutes(watermarkOverlapMinutes)));
+    }
+
+    private void trackUpdated(JiraIssueDTO issue, AtomicReference<Instant> maxUpdated) {
+        if (issue.getFields() == null) {
+            return;
         }
-        
-        // Get assignee hourly cost from performance table or set default
-        if (analysis.getAssigneeAccountId() != null) {
-            Optional<AssigneePerformance> assigneePerf = assigneePerformanceRepository
-                    .findById(analysis.getAssigneeAccountId());
-            if (assigneePerf.isPresent() && assigneePerf.get().getHourlyCost() != null) {
-                analysis.setAssigneeHourlyCost(assigneePerf.get().getHourlyCost());
-            } else {
-                // Set default hourly cost if not found
-                analysis.setAssigneeHourlyCost(50.0);
-            }
-            
-            // Calculate total cost if time is available
-            if (analysis.getTimeTakenHours() != null && analysis.getAssigneeHourlyCost() != null) {
-                analysis.setTotalCost(analysis.getAssigneeHourlyCost() * analysis.getTimeTakenHours());
-            }
+        Instant updated = JiraDateParser.parseInstant(issue.getFields().getUpdated());
+        if (updated != null) {
+            maxUpdated.accumulateAndGet(updated, (current, candidate) ->
+                    current == null || candidate.isAfter(current) ? candidate : current);
         }
-        
-        // Calculate efficiency score
-        analysis.setEfficiencyScore(calculateEfficiencyScore(analysis));
-        
-        analysis.setLastSynced(LocalDateTime.now());
-        issueAnalysisRepository.save(analysis);
     }
 
     /**
-     * Calculate efficiency score based on time taken and assignee performance
-     * Lower time with good quality = higher efficiency
+     * Record a completed sync; the watermark never moves backwards
      */
-    private Double calculateEfficiencyScore(IssueAnalysis analysis) {
-        if (analysis.getTimeTakenHours() == null || analysis.getAssigneeAccountId() == null) {
-            return null;
-        }
-        
-        // Get average time for this assignee
-        List<IssueAnalysis> completedIssues = issueAnalysisRepository
-                .findCompletedIssuesByAssignee(analysis.getAssigneeAccountId());
-        
-        if (completedIssues.isEmpty()) {
-            // First issue, default efficiency
-            return 0.5;
+    private void advanceWatermark(String projectKey, SyncMode mode, Instant maxUpdated) {
+        ProjectSyncState state = projectSyncStateRepository.findById(projectKey)
+                .orElseGet(() -> {
+                    ProjectSyncState created = new ProjectSyncState();
+                    created.setProjectKey(projectKey);
+                    return created;
+                });
+        if (maxUpdated != null
+                && (state.getUpdatedWatermark() == null || maxUpdated.isAfter(state.getUpdatedWatermark()))) {
+            state.setUpdatedWatermark(maxUpdated);
         }
-        
-        double avgTime = completedIssues.stream()
-                .filter(ia -> ia.getTimeTakenHours() != null)
-                .mapToDouble(IssueAnalysis::getTimeTakenHours)
-                .average()
-                .orElse(analysis.getTimeTakenHours());
-        
-        // Efficiency = how much faster/slower than average
-        // If completed faster than average, efficiency > 1.0
-        // If completed slower than average, efficiency < 1.0
-        if (avgTime > 0) {
-            double efficiency = avgTime / analysis.getTimeTakenHours();
-            // Normalize to 0-1 scale
-            return Math.min(1.0, Math.max(0.0, efficiency));
+        LocalDateTime now = LocalDateTime.now();
+        if (mode == SyncMode.FULL || state.getLastFullSync() == null) {
+            state.setLastFullSync(now);
+        } else {
+            state.setLastIncrementalSync(now);
         }
-        
-        return 0.5;
+        projectSyncStateRepository.save(state);
     }
 
     /**
-     * Recalculate performance metrics for all assignees
+     * Recalculate performance metrics for all assignees (admin operation; syncs only
+     * recalculate the assignees they touched)
      */
-    @Transactional
     public void recalculateAssigneePerformance() {
-        List<IssueAnalysis> allIssues = issueAnalysisRepository.findAll();
-        
-        // Get distinct assignee account IDs
-        allIssues.stream()
-                .filter(ia -> ia.getAssigneeAccountId() != null)
-                .map(IssueAnalysis::getAssigneeAccountId)
-                .distinct()
-                .forEach(accountId -> {
-                    List<IssueAnalysis> assigneeIssues = issueAnalysisRepository
-                            .findCompletedIssuesByAssignee(accountId);
-                    
-                    if (!assigneeIssues.isEmpty()) {
-                        // Get first issue to get assignee name/email
-                        IssueAnalysis firstIssue = assigneeIssues.get(0);
-                        
-                        AssigneePerformance perf = assigneePerformanceRepository
-                                .findById(accountId)
-                                .orElse(new AssigneePerformance());
-                        
-                        perf.setAccountId(accountId);
-                        perf.setName(firstIssue.getAssigneeName());
-                        perf.setEmail(firstIssue.getAssigneeEmail());
-                        
-                        // Calculate averages
-                        double avgTime = assigneeIssues.stream()
-                                .filter(ia -> ia.getTimeTakenHours() != null)
-                                .mapToDouble(IssueAnalysis::getTimeTakenHours)
-                                .average()
-                                .orElse(0.0);
-                        perf.setAverageTimeHours(avgTime);
-                        
-                        double avgEfficiency = assigneeIssues.stream()
-                                .filter(ia -> ia.getEfficiencyScore() != null)
-                                .mapToDouble(IssueAnalysis::getEfficiencyScore)
-                                .average()
-                                .orElse(0.0);
-                        perf.setAverageEfficiencyScore(avgEfficiency);
-                        
-                        perf.setTotalIssuesCompleted(assigneeIssues.size());
-                        
-                        // Calculate total cost
-                        double totalCost = assigneeIssues.stream()
-                                .filter(ia -> ia.getTotalCost() != null)
-                                .mapToDouble(IssueAnalysis::getTotalCost)
-                                .sum();
-                        perf.setTotalCostIncurred(totalCost);
-                        
-                        // Set hourly cost if not already set (default to 50 if not configured)
-                        if (perf.getHourlyCost() == null) {
-                            perf.setHourlyCost(50.0); // Default hourly rate
-                        }
-                        
-                        perf.setLastUpdated(LocalDateTime.now());
-                        assigneePerformanceRepository.save(perf);
-                    }
-                });
+        assigneePerformanceCalculator.recalculateAll();
+    }
+
+    /**
+     * Full-text search over issue summaries and descriptions, best match first
+     */
+    public List<IssueSearchHitDTO> searchIssues(String query, String projectKey, int limit) {
+        List<IssueSearchIndex.Hit> hits = issueSearchIndex.search(query, projectKey, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<String, IssueAnalysis> rows = new HashMap<>();
+        issueAnalysisRepository.findAllById(hits.stream().map(IssueSearchIndex.Hit::issueKey).toList())
+                .forEach(row -> rows.put(row.getIssueKey(), row));
+        List<IssueSearchHitDTO> results = new ArrayList<>(hits.size());
+        for (IssueSearchIndex.Hit hit : hits) {
+            IssueAnalysis row = rows.get(hit.issueKey());
+            if (row != null) {
+                results.add(new IssueSearchHitDTO(row.getIssueKey(), row.getProjectKey(), row.getSummary(),
+                        row.getStatus(), row.getAssigneeName(), hit.score()));
+            }
+        }
+        return results;
     }
 
     /**
@@ -245,21 +378,54 @@ public class IssueAnalysisService {
      */
     @Transactional
     public void updateAssigneeHourlyCost(String accountId, Double hourlyCost) {
-        Optional<AssigneePerformance> perf = assigneePerformanceRepository.findById(accountId);
-        if (perf.isPresent()) {
-            perf.get().setHourlyCost(hourlyCost);
-            assigneePerformanceRepository.save(perf.get());
-            
-            // Recalculate costs for all issues assigned to this person
-            List<IssueAnalysis> issues = issueAnalysisRepository.findByAssigneeAccountId(accountId);
-            issues.forEach(issue -> {
-                if (issue.getTimeTakenHours() != null) {
-                    issue.setAssigneeHourlyCost(hourlyCost);
-                    issue.setTotalCost(hourlyCost * issue.getTimeTakenHours());
-                    issueAnalysisRepository.save(issue);
-                }
-            });
+        // singletonMap admits nulls, so a missing id or cost is rejected by the validation below
+        updateAssigneeHourlyCosts(Collections.singletonMap(accountId, hourlyCost));
+    }
+
+    /**
+     * Update many assignee hourly costs at once and re-price their completed issues.
+     * Rates are applied to the loaded performance rows (flushed as one JDBC batch), then each
+     * batch of assignees is re-priced with one set-based UPDATE over their issues and one over
+     * their total cost incurred. Account ids without a performance row are reported, not created.
+     */
+    @Transactional
+    public RepricingResult updateAssigneeHourlyCosts(Map<String, Double> hourlyCosts) {
+        hourlyCosts.forEach((accountId, cost) -> {
+            if (accountId == null || accountId.isBlank()) {
+                throw new IllegalArgumentException("Account id is required");
+            }
+            if (cost == null || cost.isNaN() || cost.isInfinite() || cost < 0) {
+                throw new IllegalArgumentException("Invalid hourly cost for " + accountId + ": " + cost);
+            }
+        });
+
+        List<String> accountIds = new ArrayList<>(hourlyCosts.keySet());
+        List<String> unknown = new ArrayList<>();
+        int assigneesUpdated = 0;
+        int issuesRepriced = 0;
+        for (int from = 0; from < accountIds.size(); from += REPRICING_BATCH_SIZE) {
+            List<String> batch = accountIds.subList(from, Math.min(from + REPRICING_BATCH_SIZE, accountIds.size()));
+            Set<String> found = new HashSet<>();
+            for (AssigneePerformance perf : assigneePerformanceRepository.findAllById(batch)) {
+                perf.setHourlyCost(hourlyCosts.get(perf.getAccountId()));
+                hourlyRateCache.put(perf.getAccountId(), perf.getHourlyCost());
+                found.add(perf.getAccountId());
+            }
+            batch.stream().filter(id -> !found.contains(id)).forEach(unknown::add);
+            if (found.isEmpty()) {
+                continue;
+            }
+            // Both updates flush the rate changes above first
+            issuesRepriced += issueAnalysisRepository.repriceIssuesFromAssigneeRates(found);
+            assigneePerformanceRepository.refreshTotalCostIncurred(found);
+            assigneesUpdated += found.size();
         }
+        if (assigneesUpdated > 0) {
+            dataVersionTracker.sharedDataChanged();
+        }
+        return new RepricingResult(assigneesUpdated, issuesRepriced, unknown);
     }
-}
 
+    private record InFlightSync(SyncMode mode, Mono<SyncResult> result) {
+    }
+}
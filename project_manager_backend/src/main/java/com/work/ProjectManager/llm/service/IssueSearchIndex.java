@@ -0,0 +1,471 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over issue summaries and descriptions, ranked with BM25.
+ * Built from the database once the application is ready and kept current by
+ * {@link IssueAnalysisBulkWriter}, which hands over every inserted, changed or deleted row
+ * when its transaction commits. Summary terms count twice.
+ * <p>
+ * Documents are numbered in insertion order and postings are append-only; replacing or
+ * removing an issue only marks its old number dead, and dead entries are dropped from the
+ * postings once they make up a large share of the index.
+ * A rebuild loads the table a page at a time without blocking updates; issues indexed or
+ * removed while it runs are newer than any page read before them, so those pages skip them.
+ * Size is published as {@code search.index.documents}, {@code search.index.terms} and
+ * {@code search.index.memory} (estimated bytes), query latency as {@code search.index.queries}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IssueSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // Compact once this many dead documents have built up, and they outnumber a quarter of the live ones
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "do", "does", "for", "from", "has", "have",
+            "how", "in", "is", "it", "me", "many", "much", "of", "on", "or", "that", "the", "there", "this",
+            "to", "was", "were", "what", "which", "who", "with");
+
+    private final IssueAnalysisRepository issueAnalysisRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Terms
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private Postings[] postings = new Postings[1024];
+    private int[] documentFrequency = new int[1024];
+    private int termCount;
+
+    // Documents, indexed by document number; a null key marks a dead document
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<String, Integer> projectIds = new HashMap<>();
+    private final List<String> projectKeys = new ArrayList<>();
+    private String[] docKeys = new String[1024];
+    private int[] docProjects = new int[1024];
+    private int[] docLengths = new int[1024];
+    private int[][] docTerms = new int[1024][];
+    private int docCount;
+    private int liveDocs;
+    private int deadDocs;
+    private long totalLength;
+
+    // Keys indexed or removed since the running rebuild started; null when no rebuild is running
+    private Set<String> updatedDuringRebuild;
+
+    private Timer queryTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("search.index.documents", this, index -> index.read(() -> index.liveDocs))
+                .description("Issues in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.terms", this, index -> index.read(() -> index.termCount))
+                .description("Distinct terms in the full-text index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.memory", this, IssueSearchIndex::estimatedBytes)
+                .description("Estimated heap used by the full-text index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("search.index.queries")
+                .description("BM25 queries against the full-text index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Index every stored issue, reading the table in key order one page at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        write(() -> {
+            clear();
+            updatedDuringRebuild = new HashSet<>();
+        });
+        try {
+            String afterKey = "";
+            List<IssueAnalysisRepository.IssueText> page;
+            do {
+                page = issueAnalysisRepository.findIssueTextsAfter(afterKey, PageRequest.of(0, LOAD_PAGE_SIZE));
+                List<IssueAnalysisRepository.IssueText> loaded = page;
+                write(() -> {
+                    for (IssueAnalysisRepository.IssueText text : loaded) {
+                        if (!updatedDuringRebuild.contains(text.getIssueKey())) {
+                            put(text.getIssueKey(), text.getProjectKey(), text.getSummary(), text.getDescription());
+                        }
+                    }
+                });
+                if (!page.isEmpty()) {
+                    afterKey = page.get(page.size() - 1).getIssueKey();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } finally {
+            write(() -> updatedDuringRebuild = null);
+        }
+        log.info("Indexed {} issues ({} terms, ~{} KB) in {} ms", read(() -> liveDocs), read(() -> termCount),
+                estimatedBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Add or replace issues, once the surrounding transaction (if any) commits
+     */
+    public void index(Collection<IssueAnalysis> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<IssueAnalysis> copy = List.copyOf(rows);
+        TransactionCallbacks.afterCommit(() -> write(() -> copy.forEach(row -> {
+            put(row.getIssueKey(), row.getProjectKey(), row.getSummary(), row.getDescription());
+            markUpdated(row.getIssueKey());
+        })));
+    }
+
+    /**
+     * Remove issues, once the surrounding transaction (if any) commits
+     */
+    public void remove(Collection<String> issueKeys) {
+        if (issueKeys.isEmpty()) {
+            return;
+        }
+        List<String> copy = List.copyOf(issueKeys);
+        TransactionCallbacks.afterCommit(() -> write(() -> copy.forEach(issueKey -> {
+            delete(issueKey);
+            markUpdated(issueKey);
+        })));
+    }
+
+    /**
+     * Issues best matching the query, highest BM25 score first; projectKey null searches every project
+     */
+    public List<Hit> search(String query, String projectKey, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return queryTimer.record(() -> read(() -> rank(terms, projectKey, limit)));
+    }
+
+    /**
+     * Lower-cased words of a text, without stop words and single characters
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private List<Hit> rank(Set<String> terms, String projectKey, int limit) {
+        if (liveDocs == 0) {
+            return List.of();
+        }
+        int project = -1;
+        if (projectKey != null) {
+            Integer id = projectIds.get(projectKey);
+            if (id == null) {
+                return List.of();
+            }
+            project = id;
+        }
+
+        double averageLength = (double) totalLength / liveDocs;
+        double[] scores = new double[docCount];
+        for (String term : terms) {
+            Integer termId = termIds.get(term);
+            if (termId == null || documentFrequency[termId] == 0) {
+                continue;
+            }
+            int df = documentFrequency[termId];
+            double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            Postings list = postings[termId];
+            for (int i = 0; i < list.size; i++) {
+                int doc = list.doc(i);
+                if (docKeys[doc] == null || (project >= 0 && docProjects[doc] != project)) {
+                    continue;
+                }
+                int tf = list.frequency(i);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLengths[doc] / averageLength));
+            }
+        }
+
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(scores[a], scores[b]));
+        for (int doc = 0; doc < docCount; doc++) {
+            if (scores[doc] > 0 && (top.size() < limit || scores[doc] > scores[top.peek()])) {
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int doc = top.poll();
+            hits.add(new Hit(docKeys[doc], projectKeys.get(docProjects[doc]), scores[doc]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private void put(String issueKey, String projectKey, String summary, String description) {
+        if (issueKey == null) {
+            return;
+        }
+        delete(issueKey);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(summary)) {
+            frequencies.merge(token, SUMMARY_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        if (frequencies.isEmpty()) {
+            return;
+        }
+
+        int doc = docCount++;
+        ensureDocCapacity(docCount);
+        int[] terms = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            int termId = termId(entry.getKey());
+            postings[termId].add(doc, entry.getValue());
+            documentFrequency[termId]++;
+            terms[i++] = termId;
+            length += entry.getValue();
+        }
+        docKeys[doc] = issueKey;
+        docProjects[doc] = projectIds.computeIfAbsent(projectKey, key -> {
+            projectKeys.add(key);
+            return projectKeys.size() - 1;
+        });
+        docLengths[doc] = length;
+        docTerms[doc] = terms;
+        docIds.put(issueKey, doc);
+        liveDocs++;
+        totalLength += length;
+    }
+
+    private void markUpdated(String issueKey) {
+        if (updatedDuringRebuild != null && issueKey != null) {
+            updatedDuringRebuild.add(issueKey);
+        }
+    }
+
+    private void delete(String issueKey) {
+        Integer doc = docIds.remove(issueKey);
+        if (doc == null) {
+            return;
+        }
+        for (int termId : docTerms[doc]) {
+            documentFrequency[termId]--;
+        }
+        totalLength -= docLengths[doc];
+        docKeys[doc] = null;
+        docTerms[doc] = null;
+        liveDocs--;
+        deadDocs++;
+        if (deadDocs >= MIN_DEAD_TO_COMPACT && deadDocs > liveDocs / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumber the live documents and drop dead ones from every postings list
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docKeys[doc] == null) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = live;
+            docKeys[live] = docKeys[doc];
+            docProjects[live] = docProjects[doc];
+            docLengths[live] = docLengths[doc];
+            docTerms[live] = docTerms[doc];
+            docIds.put(docKeys[live], live);
+            live++;
+        }
+        Arrays.fill(docKeys, live, docCount, null);
+        Arrays.fill(docTerms, live, docCount, null);
+        for (int termId = 0; termId < termCount; termId++) {
+            postings[termId].renumber(renumbered);
+        }
+        docCount = live;
+        deadDocs = 0;
+    }
+
+    private void clear() {
+        termIds.clear();
+        postings = new Postings[1024];
+        documentFrequency = new int[1024];
+        termCount = 0;
+        docIds.clear();
+        projectIds.clear();
+        projectKeys.clear();
+        docKeys = new String[1024];
+        docProjects = new int[1024];
+        docLengths = new int[1024];
+        docTerms = new int[1024][];
+        docCount = 0;
+        liveDocs = 0;
+        deadDocs = 0;
+        totalLength = 0;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        if (termCount == postings.length) {
+            postings = Arrays.copyOf(postings, termCount * 2);
+            documentFrequency = Arrays.copyOf(documentFrequency, termCount * 2);
+        }
+        postings[termCount] = new Postings();
+        termIds.put(term, termCount);
+        return termCount++;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= docKeys.length) {
+            return;
+        }
+        int grown = Math.max(capacity, docKeys.length * 2);
+        docKeys = Arrays.copyOf(docKeys, grown);
+        docProjects = Arrays.copyOf(docProjects, grown);
+        docLengths = Arrays.copyOf(docLengths, grown);
+        docTerms = Arrays.copyOf(docTerms, grown);
+    }
+
+    /**
+     * Rough heap estimate: arrays at their capacity, plus strings and hash map entries
+     */
+    private double estimatedBytes() {
+        return read(() -> {
+            long bytes = 0;
+            for (Map.Entry<String, Integer> entry : termIds.entrySet()) {
+                bytes += 48 + 40 + 2L * entry.getKey().length() + 16;
+            }
+            for (int termId = 0; termId < termCount; termId++) {
+                bytes += 16 + 16 + 4L * postings[termId].entries.length;
+            }
+            bytes += 8L * postings.length + 4L * documentFrequency.length;
+            bytes += (8L + 4 + 4 + 8) * docKeys.length;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (docKeys[doc] != null) {
+                    bytes += 40 + 2L * docKeys[doc].length() + 16 + 4L * docTerms[doc].length + 48 + 16;
+                }
+            }
+            return (double) bytes;
+        });
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public record Hit(String issueKey, String projectKey, double score) {
+    }
+
+    /**
+     * Document numbers and term frequencies of one term, as interleaved pairs in ascending document order
+     */
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (2 * size + 2 > entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[2 * size] = doc;
+            entries[2 * size + 1] = frequency;
+            size++;
+        }
+
+        int doc(int i) {
+            return entries[2 * i];
+        }
+
+        int frequency(int i) {
+            return entries[2 * i + 1];
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[doc(i)];
+                if (doc >= 0) {
+                    entries[2 * kept] = doc;
+                    entries[2 * kept + 1] = frequency(i);
+                    kept++;
+                }
+            }
+            size = kept;
+            if (entries.length > 8 && 4 * size < entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(4, 2 * size));
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraWebhookEvent;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory queue of pushed Jira issue changes, coalesced per issue key.
+ * Repeated events for the same issue collapse into the newest one, and the queue is drained
+ * in micro-batches every {@code jira.webhook.flush-interval-ms} through
+ * {@link IssueAnalysisService#applyIssueChanges}. When a batch fails its events are applied one
+ * by one, so a single bad event cannot hold back the rest; an event that still fails is retried
+ * on later flushes and dropped after {@code jira.webhook.max-attempts}. Dropped or lost
+ * creations and updates are picked up again by the next incremental sync; a dropped deletion
+ * is only repaired by the next full sync, which removes issues Jira no longer returns.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IssueUpdateQueue {
+
+    private final IssueAnalysisService issueAnalysisService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, PendingEvent> pending = new ConcurrentHashMap<>();
+
+    @Value("${jira.webhook.batch-size:200}")
+    private int batchSize;
+
+    @Value("${jira.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    private Counter received;
+    private Counter coalesced;
+    private Counter dropped;
+
+    @PostConstruct
+    public void registerMetrics() {
+        received = Counter.builder("jira.webhook.events").description("Issue webhook events accepted")
+                .register(meterRegistry);
+        coalesced = Counter.builder("jira.webhook.events.coalesced")
+                .description("Events folded into a newer pending event for the same issue")
+                .register(meterRegistry);
+        dropped = Counter.builder("jira.webhook.events.dropped")
+                .description("Events given up on after jira.webhook.max-attempts failed applications")
+                .register(meterRegistry);
+        Gauge.builder("jira.webhook.queue.size", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Queue an event; an older event than the one already pending for the issue is dropped
+     */
+    public void enqueue(JiraWebhookEvent event) {
+        received.increment();
+        pending.merge(event.getIssue().getKey(), new PendingEvent(event, 0), (current, incoming) -> {
+            coalesced.increment();
+            return isNewer(incoming.event(), current.event()) ? incoming : current;
+        });
+    }
+
+    /**
+     * Drain pending events in batches of {@code jira.webhook.batch-size}. Events that fail are
+     * queued again once the drain is over, so they are retried on the next flush rather than this one.
+     */
+    @Scheduled(fixedDelayString = "${jira.webhook.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<PendingEvent> failed = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            List<PendingEvent> batch = take(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            failed.addAll(apply(batch));
+        }
+        failed.forEach(this::requeue);
+    }
+
+    private List<PendingEvent> take(int max) {
+        List<PendingEvent> batch = new ArrayList<>(Math.min(max, pending.size()));
+        Iterator<Map.Entry<String, PendingEvent>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < max) {
+            Map.Entry<String, PendingEvent> entry = it.next();
+            // Only remove the exact event we read; a newer one arriving meanwhile stays queued
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Apply a batch, falling back to one event at a time when it fails; returns the events that failed
+     */
+    private List<PendingEvent> apply(List<PendingEvent> batch) {
+        try {
+            write(batch);
+            return List.of();
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                log.warn("Applying webhook event for {} failed: {}", batch.get(0).key(), e.getMessage());
+                return batch;
+            }
+            log.warn("Applying {} webhook events failed, applying them one by one: {}", batch.size(), e.getMessage());
+        }
+        List<PendingEvent> failed = new ArrayList<>();
+        for (PendingEvent event : batch) {
+            failed.addAll(apply(List.of(event)));
+        }
+        return failed;
+    }
+
+    private void write(List<PendingEvent> batch) {
+        List<JiraIssueDTO> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        for (PendingEvent pendingEvent : batch) {
+            JiraWebhookEvent event = pendingEvent.event();
+            if (event.isDeletion()) {
+                deletes.add(pendingEvent.key());
+            } else {
+                upserts.add(event.getIssue());
+            }
+        }
+        BatchWriteResult result = issueAnalysisService.applyIssueChanges(upserts, deletes);
+        log.debug("Applied {} webhook upserts ({} inserted, {} updated) and {} deletes",
+                upserts.size(), result.getInserted(), result.getUpdated(), deletes.size());
+    }
+
+    private void requeue(PendingEvent event) {
+        PendingEvent retry = new PendingEvent(event.event(), event.attempts() + 1);
+        if (retry.attempts() >= maxAttempts) {
+            dropped.increment();
+            log.error("Dropping webhook event {} for {} after {} failed attempts; the next {} sync will pick the issue up",
+                    event.event().getWebhookEvent(), event.key(), retry.attempts(),
+                    JiraWebhookEvent.ISSUE_DELETED.equals(event.event().getWebhookEvent()) ? "full" : "incremental");
+            return;
+        }
+        // Unless something newer has arrived for the same issue, which starts with a clean slate
+        pending.merge(retry.key(), retry, (current, failed) -> isNewer(failed.event(), current.event()) ? failed : current);
+    }
+
+    private static boolean isNewer(JiraWebhookEvent candidate, JiraWebhookEvent current) {
+        long candidateTs = candidate.getTimestamp() != null ? candidate.getTimestamp() : Long.MAX_VALUE;
+        long currentTs = current.getTimestamp() != null ? current.getTimestamp() : Long.MIN_VALUE;
+        return candidateTs >= currentTs;
+    }
+
+    private record PendingEvent(JiraWebhookEvent event, int attempts) {
+        String key() {
+            return event.getIssue().getKey();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded in-memory cache of LLM answers in front of {@link LLMService}.
+ * Answers are keyed by the normalized prompt, the project key and the {@link DataVersionTracker}
+ * stamp read before the context was built, so once a sync changes a project's data its earlier
+ * answers can no longer be found and age out. Entries expire after {@code llm.answer-cache.ttl};
+ * fallback answers are never cached.
+ * Lookups are published as {@code cache.gets{cache=llmAnswers,result=hit|miss}} and the LLM
+ * server time that hits avoided as {@code llm.answer-cache.saved}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LLMAnswerCache {
+
+    private static final String CACHE_NAME = "llmAnswers";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.]+$");
+
+    private final LLMService llmService;
+    private final DataVersionTracker dataVersionTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${llm.answer-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.answer-cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${llm.answer-cache.ttl:1h}")
+    private Duration ttl;
+
+    // Access-ordered, so the least recently asked question is evicted first
+    private final Map<String, CachedAnswer> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedAnswer> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    private Counter hits;
+    private Counter misses;
+    private Counter savedSeconds;
+
+    @PostConstruct
+    public void registerMetrics() {
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Questions answered from the answer cache")
+                .register(meterRegistry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Questions sent to the LLM server")
+                .register(meterRegistry);
+        savedSeconds = Counter.builder("llm.answer-cache.saved")
+                .description("LLM server time avoided by answer cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answer a question, from the cache when the same question was answered over the same data
+     *
+     * @param projectKey project the question is scoped to, null or blank for all projects
+     * @param context    builds the LLM context; only called on a miss
+     */
+    public Mono<String> ask(String prompt, String projectKey, Supplier<LLMDataDTO> context) {
+        if (!enabled) {
+            return Mono.defer(() -> llmService.askLLM(prompt, context.get()));
+        }
+        return Mono.defer(() -> {
+            // Read before the context is built: a concurrent sync then only makes the entry unreachable
+            String key = key(prompt, projectKey, dataVersionTracker.version(projectKey));
+            CachedAnswer cached = lookup(key);
+            if (cached != null) {
+                return Mono.just(cached.text());
+            }
+            return llmService.answer(prompt, context.get())
+                    .doOnNext(answer -> {
+                        if (!answer.fallback() && answer.text() != null) {
+                            entries.put(key, new CachedAnswer(answer.text(), answer.upstreamNanos(), System.nanoTime()));
+                        }
+                    })
+                    .map(LLMService.Answer::text);
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #ask}: a cached answer is emitted as a single piece, and a streamed
+     * answer is cached once the LLM server has sent all of it
+     */
+    public Flux<String> stream(String prompt, String projectKey, Supplier<LLMDataDTO> context) {
+        if (!enabled) {
+            return Flux.defer(() -> llmService.streamLLM(prompt, context.get()).map(LLMService.Token::text));
+        }
+        return Flux.defer(() -> {
+            String key = key(prompt, projectKey, dataVersionTracker.version(projectKey));
+            CachedAnswer cached = lookup(key);
+            if (cached != null) {
+                return Flux.just(cached.text());
+            }
+            StringBuilder text = new StringBuilder();
+            AtomicBoolean fallback = new AtomicBoolean();
+            long start = System.nanoTime();
+            return llmService.streamLLM(prompt, context.get())
+                    .doOnNext(token -> {
+                        text.append(token.text());
+                        fallback.compareAndSet(false, token.fallback());
+                    })
+                    .doOnComplete(() -> {
+                        if (!fallback.get()) {
+                            long now = System.nanoTime();
+                            entries.put(key, new CachedAnswer(text.toString(), now - start, now));
+                        }
+                    })
+                    .map(LLMService.Token::text);
+        });
+    }
+
+    /**
+     * Unexpired entry for the key, counting the lookup as a hit or miss
+     */
+    private CachedAnswer lookup(String key) {
+        CachedAnswer cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.storedAtNanos() < ttl.toNanos()) {
+            hits.increment();
+            savedSeconds.increment(cached.upstreamNanos() / 1e9);
+            return cached;
+        }
+        if (cached != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Prompts differing only in case, spacing or trailing punctuation share an entry
+     */
+    static String normalize(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(prompt.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return TRAILING_PUNCTUATION.matcher(collapsed).replaceAll("");
+    }
+
+    private static String key(String prompt, String projectKey, String version) {
+        String scope = projectKey != null && !projectKey.isBlank() ? projectKey : "";
+        return scope + '\u0000' + version + '\u0000' + normalize(prompt);
+    }
+
+    private record CachedAnswer(String text, long upstreamNanos, long storedAtNanos) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the project data sent to the LLM with a question. Rather than every issue row, the
+ * context carries totals over all issues in scope, the per-assignee statistics and as many of
+ * the issues most relevant to the prompt as fit in {@code llm.context.max-bytes}. Relevant
+ * issues come from {@link IssueSearchIndex}, so no question reads the whole issue table.
+ */
+@Component
+@RequiredArgsConstructor
+public class LLMContextBuilder {
+
+    // Approximate serialized size of an entry besides its text fields (field names, quotes, numbers)
+    private static final int ISSUE_OVERHEAD_BYTES = 220;
+    private static final int ASSIGNEE_OVERHEAD_BYTES = 200;
+
+    // Jira issue keys such as MW-123, in any case
+    private static final Pattern ISSUE_KEY = Pattern.compile("\\b[A-Za-z][A-Za-z0-9_]+-\\d+\\b");
+
+    private final IssueAnalysisRepository issueAnalysisRepository;
+    private final AssigneePerformanceRepository assigneePerformanceRepository;
+    private final IssueSearchIndex issueSearchIndex;
+    private final MeterRegistry meterRegistry;
+
+    // About four bytes per token for English text
+    @Value("${llm.context.max-bytes:65536}")
+    private int maxBytes;
+
+    @Value("${llm.context.max-issues:200}")
+    private int maxIssues;
+
+    @Value("${llm.context.max-assignees:100}")
+    private int maxAssignees;
+
+    @Value("${llm.context.max-description-chars:500}")
+    private int maxDescriptionChars;
+
+    /**
+     * Context for a prompt, over one project or every project when projectKey is blank
+     */
+    public LLMDataDTO build(String prompt, String projectKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String scope = projectKey != null && !projectKey.isBlank() ? projectKey : null;
+        String promptLower = prompt != null ? prompt.toLowerCase(Locale.ROOT) : "";
+
+        LLMDataDTO.SummaryDTO summary = summarize(scope);
+        int remaining = maxBytes;
+
+        // Assignee statistics are already aggregates; they may take up to half of the budget
+        List<LLMDataDTO.AssigneePerformanceDTO> assignees = new ArrayList<>();
+        int assigneeBudget = maxBytes / 2;
+        for (AssigneePerformance assignee : rankAssignees(scope, promptLower)) {
+            LLMDataDTO.AssigneePerformanceDTO dto = toAssigneeDTO(assignee);
+            int size = estimateSize(dto);
+            if (assignees.size() >= maxAssignees || size > assigneeBudget) {
+                break;
+            }
+            assigneeBudget -= size;
+            remaining -= size;
+            assignees.add(dto);
+        }
+
+        List<LLMDataDTO.IssueAnalysisDTO> issues = new ArrayList<>();
+        for (IssueAnalysis issue : rankIssues(scope, prompt)) {
+            LLMDataDTO.IssueAnalysisDTO dto = toIssueDTO(issue);
+            int size = estimateSize(dto);
+            if (size > remaining) {
+                // A smaller, less relevant issue may still fit
+                continue;
+            }
+            remaining -= size;
+            issues.add(dto);
+        }
+        summary.setIssuesIncluded(issues.size());
+        summary.setIssuesOmitted(Math.max(0, summary.getTotalIssues() - issues.size()));
+
+        LLMDataDTO data = new LLMDataDTO(issues, assignees, summary);
+        sample.stop(Timer.builder("llm.context.build")
+                .description("Time to select and assemble the context of an LLM question")
+                .register(meterRegistry));
+        recordPayload(data);
+        return data;
+    }
+
+    /**
+     * Totals with the same definitions as the fallback answers: an issue is completed when its status
+     * is Done, and the average time is over all issues, counting an issue without recorded time as 0
+     */
+    private LLMDataDTO.SummaryDTO summarize(String projectKey) {
+        LLMDataDTO.SummaryDTO summary = new LLMDataDTO.SummaryDTO();
+        summary.setProjectKey(projectKey);
+        summary.setIssuesByStatus(new TreeMap<>());
+        double hours = 0;
+        for (IssueAnalysisRepository.StatusSummary row : issueAnalysisRepository.summarizeByStatus(projectKey)) {
+            long count = row.getIssueCount() != null ? row.getIssueCount() : 0;
+            summary.setTotalIssues(summary.getTotalIssues() + count);
+            if ("Done".equalsIgnoreCase(row.getStatus())) {
+                summary.setCompletedIssues(summary.getCompletedIssues() + count);
+            }
+            summary.setTotalCost(summary.getTotalCost() + (row.getTotalCost() != null ? row.getTotalCost() : 0.0));
+            summary.getIssuesByStatus().merge(row.getStatus() != null ? row.getStatus() : "Unknown", count, Long::sum);
+            hours += row.getTotalHours() != null ? row.getTotalHours() : 0.0;
+        }
+        summary.setAverageTimeHours(summary.getTotalIssues() > 0 ? hours / summary.getTotalIssues() : null);
+        return summary;
+    }
+
+    /**
+     * Assignees named in the prompt first, then by completed issues
+     */
+    private List<AssigneePerformance> rankAssignees(String projectKey, String promptLower) {
+        List<AssigneePerformance> assignees = projectKey != null
+                ? assigneePerformanceRepository.findAllById(issueAnalysisRepository.findAssigneeAccountIdsByProjectKey(projectKey))
+                : assigneePerformanceRepository.findAll();
+        return assignees.stream()
+                .sorted(Comparator
+                        .comparing((AssigneePerformance a) -> !mentions(promptLower, a.getName()))
+                        .thenComparing(a -> a.getTotalIssuesCompleted() != null ? a.getTotalIssuesCompleted() : 0,
+                                Comparator.reverseOrder()))
+                .toList();
+    }
+
+    /**
+     * Issues named by key in the prompt, then the best full-text matches of the prompt, then the
+     * most recently created issues (so an unspecific prompt still gets the latest work)
+     */
+    private List<IssueAnalysis> rankIssues(String projectKey, String prompt) {
+        Map<String, IssueAnalysis> ranked = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>(mentionedIssueKeys(prompt));
+        issueSearchIndex.search(prompt, projectKey, maxIssues).forEach(hit -> keys.add(hit.issueKey()));
+        if (!keys.isEmpty()) {
+            Map<String, IssueAnalysis> rows = new HashMap<>();
+            issueAnalysisRepository.findAllById(keys).forEach(row -> rows.put(row.getIssueKey(), row));
+            for (String key : keys) {
+                IssueAnalysis row = rows.get(key);
+                if (row != null && (projectKey == null || projectKey.equals(row.getProjectKey()))
+                        && ranked.size() < maxIssues) {
+                    ranked.putIfAbsent(key, row);
+                }
+            }
+        }
+        if (ranked.size() < maxIssues) {
+            PageRequest recent = PageRequest.of(0, maxIssues);
+            List<IssueAnalysis> latest = projectKey != null
+                    ? issueAnalysisRepository.findByProjectKeyOrderByCreatedDateDesc(projectKey, recent)
+                    : issueAnalysisRepository.findAllByOrderByCreatedDateDesc(recent);
+            for (IssueAnalysis row : latest) {
+                if (ranked.size() >= maxIssues) {
+                    break;
+                }
+                ranked.putIfAbsent(row.getIssueKey(), row);
+            }
+        }
+        return new ArrayList<>(ranked.values());
+    }
+
+    private static Set<String> mentionedIssueKeys(String prompt) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (prompt != null) {
+            Matcher matcher = ISSUE_KEY.matcher(prompt);
+            while (matcher.find()) {
+                keys.add(matcher.group().toUpperCase(Locale.ROOT));
+            }
+        }
+        return keys;
+    }
+
+    private static boolean mentions(String promptLower, String name) {
+        return name != null && !name.isBlank() && promptLower.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    private LLMDataDTO.IssueAnalysisDTO toIssueDTO(IssueAnalysis issue) {
+        String description = issue.getDescription();
+        if (description != null && description.length() > maxDescriptionChars) {
+            description = description.substring(0, maxDescriptionChars) + "...";
+        }
+        return new LLMDataDTO.IssueAnalysisDTO(
+                issue.getIssueKey(),
+                issue.getProjectKey(),
+                issue.getSummary(),
+                description,
+                issue.getAssigneeName(),
+                issue.getAssigneeEmail(),
+                issue.getStatus(),
+                issue.getTimeTakenHours(),
+                issue.getTotalCost(),
+                issue.getEfficiencyScore()
+        );
+    }
+
+    private static LLMDataDTO.AssigneePerformanceDTO toAssigneeDTO(AssigneePerformance assignee) {
+        return new LLMDataDTO.AssigneePerformanceDTO(
+                assignee.getAccountId(),
+                assignee.getName(),
+                assignee.getEmail(),
+                assignee.getHourlyCost(),
+                assignee.getTotalIssuesCompleted(),
+                assignee.getAverageTimeHours(),
+                assignee.getAverageEfficiencyScore(),
+                assignee.getTotalCostIncurred()
+        );
+    }
+
+    private static int estimateSize(LLMDataDTO.IssueAnalysisDTO issue) {
+        return ISSUE_OVERHEAD_BYTES + utf8Length(issue.getIssueKey()) + utf8Length(issue.getProjectKey())
+                + utf8Length(issue.getSummary()) + utf8Length(issue.getDescription())
+                + utf8Length(issue.getAssigneeName()) + utf8Length(issue.getAssigneeEmail())
+                + utf8Length(issue.getStatus());
+    }
+
+    private static int estimateSize(LLMDataDTO.AssigneePerformanceDTO assignee) {
+        return ASSIGNEE_OVERHEAD_BYTES + utf8Length(assignee.getAccountId()) + utf8Length(assignee.getName())
+                + utf8Length(assignee.getEmail());
+    }
+
+    /**
+     * Bytes the value takes once encoded as UTF-8, which is how the context is sent and measured
+     */
+    static int utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                // Rest of the basic multilingual plane, and unpaired surrogates
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * {@code llm.context.issues{selection}}: issues listed versus only counted in the summary
+     * (the serialized size is recorded by {@link LLMService} as the request is sent)
+     */
+    private void recordPayload(LLMDataDTO data) {
+        DistributionSummary.builder("llm.context.issues")
+                .tag("selection", "included")
+                .register(meterRegistry)
+                .record(data.getSummary().getIssuesIncluded());
+        DistributionSummary.builder("llm.context.issues")
+                .tag("selection", "omitted")
+                .register(meterRegistry)
+                .record(data.getSummary().getIssuesOmitted());
+    }
+}
@@ -0,0 +1,212 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import com.work.ProjectManager.utils.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized {@code /api/llm/data} responses, one per project plus one for all projects.
+ * A snapshot holds the JSON bytes (and a gzip copy when large enough) of the response as of one
+ * {@link DataVersionTracker} stamp; it is served as is until a write changes the stamp, then
+ * rebuilt on the next request. The weak ETag is derived from the stamp alone, so a client
+ * holding the current ETag gets its 304 without the data being read or serialized.
+ * At most {@code llm.data.snapshot.max-entries} snapshots are kept, least recently served evicted
+ * first, and a project without issues is served but never stored, so requests for unknown
+ * project keys cannot grow the cache or push out real snapshots.
+ * Lookups are published as {@code cache.gets{cache=llmDataSnapshots,result=hit|miss}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LLMDataSnapshots {
+
+    private static final String CACHE_NAME = "llmDataSnapshots";
+    private static final String ALL_PROJECTS = "";
+    private static final int BUILD_LOCK_STRIPES = 64;
+
+    private final DataVersionTracker dataVersionTracker;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Smaller bodies are not worth compressing
+    @Value("${llm.data.snapshot.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    @Value("${llm.data.snapshot.max-entries:100}")
+    private int maxEntries;
+
+    // Access-ordered, so the least recently served snapshot is evicted first
+    private final Map<String, Snapshot> snapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    // One build at a time per scope; concurrent requests wait for it instead of building again.
+    // Striped by scope hash, so the number of locks does not grow with the keys requested
+    private final Object[] buildLocks = new Object[BUILD_LOCK_STRIPES];
+
+    {
+        for (int i = 0; i < buildLocks.length; i++) {
+            buildLocks[i] = new Object();
+        }
+    }
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void registerMetrics() {
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Data responses served from a current snapshot")
+                .register(meterRegistry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Data responses that required building a snapshot")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", snapshots, Map::size).tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * True when the If-None-Match header names the current version of the scope's data
+     */
+    public boolean isCurrent(String projectKey, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String etag = currentEtag(projectKey);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison: an intermediary may have dropped or added the W/ prefix
+            if (tag.equals("*") || stripWeak(tag).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * ETag of the current version of the scope's data
+     */
+    public String currentEtag(String projectKey) {
+        return etag(scope(projectKey), dataVersionTracker.version(projectKey));
+    }
+
+    /**
+     * Snapshot of the current data, built from {@code data} when the stored one is out of date
+     *
+     * @param projectKey project the data is scoped to, null or blank for all projects
+     */
+    public Snapshot get(String projectKey, Supplier<LLMDataDTO> data) {
+        String scope = scope(projectKey);
+        Snapshot current = currentSnapshot(scope, projectKey);
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        synchronized (buildLocks[Math.floorMod(scope.hashCode(), buildLocks.length)]) {
+            current = currentSnapshot(scope, projectKey);
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+            misses.increment();
+            // Read before the data: a concurrent write then only makes this snapshot out of date
+            String version = dataVersionTracker.version(projectKey);
+            LLMDataDTO dto = data.get();
+            byte[] json = jsonMapper.writeValueAsBytes(new ApiResponse(true, dto, null));
+            Snapshot snapshot = new Snapshot(version, etag(scope, version), json,
+                    json.length >= gzipMinBytes ? gzip(json) : null);
+            if (scope.equals(ALL_PROJECTS) || (dto.getIssues() != null && !dto.getIssues().isEmpty())) {
+                snapshots.put(scope, snapshot);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed (or covered by *) with a non-zero q-value
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        double effective = gzip != null ? gzip : wildcard != null ? wildcard : 0;
+        return effective > 0;
+    }
+
+    private Snapshot currentSnapshot(String scope, String projectKey) {
+        Snapshot snapshot = snapshots.get(scope);
+        return snapshot != null && snapshot.version().equals(dataVersionTracker.version(projectKey)) ? snapshot : null;
+    }
+
+    private static String scope(String projectKey) {
+        return projectKey != null && !projectKey.isBlank() ? projectKey : ALL_PROJECTS;
+    }
+
+    private static String etag(String scope, String version) {
+        return "W/\"" + (scope.isEmpty() ? "all" : scope) + "-" + version + "\"";
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Serialized response as of one data version
+     *
+     * @param gzipped gzip-compressed copy of json, null when the body is below the compression threshold
+     */
+    public record Snapshot(String version, String etag, byte[] json, byte[] gzipped) {
+    }
+}
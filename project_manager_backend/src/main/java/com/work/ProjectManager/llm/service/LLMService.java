@@ -1,18 +1,28 @@
 package com.work.ProjectManager.llm.service;
 
+import com.work.ProjectManager.config.HttpTransportFactory;
 import com.work.ProjectManager.llm.dto.LLMDataDTO;
 import com.work.ProjectManager.llm.dto.LLMQueryResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for interacting with external LLM server
@@ -21,6 +31,9 @@ import java.util.Map;
 @Service
 public class LLMService {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENTS =
+            new ParameterizedTypeReference<>() { };
+
     private WebClient webClient;
     
     @Value("${llm.server.url:http://localhost:8000}")
@@ -33,15 +46,24 @@ public class LLMService {
     private int timeoutSeconds;
 
     private final WebClient.Builder webClientBuilder;
+    private final HttpTransportFactory httpTransportFactory;
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
 
-    public LLMService(WebClient.Builder webClientBuilder) {
+    public LLMService(WebClient.Builder webClientBuilder, HttpTransportFactory httpTransportFactory,
+                      MeterRegistry meterRegistry, JsonMapper jsonMapper) {
         this.webClientBuilder = webClientBuilder;
+        this.httpTransportFactory = httpTransportFactory;
+        this.meterRegistry = meterRegistry;
+        this.jsonMapper = jsonMapper;
     }
 
     @jakarta.annotation.PostConstruct
     public void init() {
-        this.webClient = webClientBuilder
+        // clone() so the shared builder bean is not left pointing at the LLM server
+        this.webClient = webClientBuilder.clone()
                 .baseUrl(llmServerUrl)
+                .clientConnector(httpTransportFactory.connector("llm", llmServerUrl))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
@@ -67,51 +89,185 @@ public class LLMService {
      * @return LLM response
      */
     public Mono<String> askLLM(String prompt, LLMDataDTO context) {
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("prompt", prompt);
-        requestBody.put("context", context);
-        
+        return answer(prompt, context).map(Answer::text);
+    }
+
+    /**
+     * Like {@link #askLLM}, but tells whether the answer came from the LLM server or from the
+     * local fallback, and how long the call to the LLM server took
+     */
+    public Mono<Answer> answer(String prompt, LLMDataDTO context) {
         // Add API key to headers if configured
         WebClient.RequestHeadersSpec<?> requestSpec = webClient.post()
                 .uri("/api/chat")
-                .bodyValue(requestBody);
+                .bodyValue(requestBody(prompt, context));
         
         if (llmApiKey != null && !llmApiKey.isEmpty()) {
             requestSpec = requestSpec.header("Authorization", "Bearer " + llmApiKey);
         }
         
-        return requestSpec
-                .retrieve()
-                .bodyToMono(LLMQueryResponse.class)
-                .timeout(Duration.ofSeconds(timeoutSeconds))
-                .map(response -> {
-                    if (response.getError() != null && !response.getError().isEmpty()) {
-                        throw new RuntimeException("LLM server error: " + response.getError());
-                    }
-                    return response.getResponse();
-                })
-                .doOnError(error -> {
-                    log.error("Error calling LLM server: {}", error.getMessage());
-                })
-                .onErrorResume(error -> {
-                    // Fallback to simple response if LLM server is unavailable
-                    log.warn("LLM server unavailable, using fallback response");
-                    return Mono.just(generateFallbackResponse(prompt, context));
-                });
+        WebClient.RequestHeadersSpec<?> request = requestSpec;
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            long start = System.nanoTime();
+            return request
+                    .retrieve()
+                    .bodyToMono(LLMQueryResponse.class)
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .map(response -> {
+                        if (response.getError() != null && !response.getError().isEmpty()) {
+                            throw new RuntimeException("LLM server error: " + response.getError());
+                        }
+                        return new Answer(response.getResponse(), false, System.nanoTime() - start);
+                    })
+                    .doOnSuccess(answer -> sample.stop(llmTimer("success")))
+                    .doOnError(error -> {
+                        sample.stop(llmTimer(outcomeOf(error)));
+                        log.error("Error calling LLM server: {}", error.getMessage());
+                    })
+                    .onErrorResume(error -> {
+                        // Fallback to simple response if LLM server is unavailable
+                        log.warn("LLM server unavailable, using fallback response");
+                        meterRegistry.counter("llm.fallbacks", "reason", outcomeOf(error)).increment();
+                        return Mono.just(new Answer(generateFallbackResponse(prompt, context), true,
+                                System.nanoTime() - start));
+                    });
+        });
+    }
+
+    /**
+     * Stream an answer from the external LLM server as it is generated
+     * 
+     * Expected request format to LLM server (same body as /api/chat):
+     * POST {llmServerUrl}/api/chat/stream
+     * Accept: text/event-stream
+     * 
+     * Expected response: Server-Sent Events, one per piece of the answer:
+     * data: partial text
+     * ... and optionally "event: error" with the error message as data. The answer ends when the
+     * stream completes or with a "[DONE]" data line.
+     * 
+     * When the LLM server fails before sending any text, the fallback response is streamed as
+     * a single token instead; a failure after that is passed on, since part of the answer has
+     * already been delivered. Each token must arrive within llm.server.timeout.
+     */
+    public Flux<Token> streamLLM(String prompt, LLMDataDTO context) {
+        WebClient.RequestHeadersSpec<?> requestSpec = webClient.post()
+                .uri("/api/chat/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody(prompt, context));
+        if (llmApiKey != null && !llmApiKey.isEmpty()) {
+            requestSpec = requestSpec.header("Authorization", "Bearer " + llmApiKey);
+        }
+
+        WebClient.RequestHeadersSpec<?> request = requestSpec;
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Timer.Sample firstToken = Timer.start(meterRegistry);
+            AtomicBoolean emitted = new AtomicBoolean();
+            return request
+                    .retrieve()
+                    .bodyToFlux(SERVER_SENT_EVENTS)
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .takeWhile(event -> !"[DONE]".equals(event.data()))
+                    .<Token>handle((event, sink) -> {
+                        if ("error".equals(event.event())) {
+                            sink.error(new RuntimeException("LLM server error: " + event.data()));
+                        } else if (event.data() != null && !event.data().isEmpty()) {
+                            sink.next(new Token(event.data(), false));
+                        }
+                    })
+                    .doOnNext(token -> {
+                        if (emitted.compareAndSet(false, true)) {
+                            firstToken.stop(Timer.builder("llm.stream.first-token")
+                                    .description("Time until the LLM server streamed the first piece of an answer")
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry));
+                        }
+                    })
+                    .doOnComplete(() -> sample.stop(llmTimer("success")))
+                    .doOnError(error -> {
+                        sample.stop(llmTimer(outcomeOf(error)));
+                        log.error("Error streaming from LLM server: {}", error.getMessage());
+                    })
+                    // The client went away mid-answer
+                    .doOnCancel(() -> sample.stop(llmTimer("cancelled")))
+                    .onErrorResume(error -> {
+                        if (emitted.get()) {
+                            return Flux.error(error);
+                        }
+                        log.warn("LLM server unavailable, using fallback response");
+                        meterRegistry.counter("llm.fallbacks", "reason", outcomeOf(error)).increment();
+                        return Flux.just(new Token(generateFallbackResponse(prompt, context), true));
+                    });
+        });
+    }
+
+    /**
+     * Request body for the LLM server, serialized once so that {@code llm.context.bytes} records
+     * exactly what is sent
+     */
+    private byte[] requestBody(String prompt, LLMDataDTO context) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("prompt", prompt);
+        requestBody.put("context", context);
+        byte[] body = jsonMapper.writeValueAsBytes(requestBody);
+        DistributionSummary.builder("llm.context.bytes")
+                .description("Size of the request (prompt and context) sent to the LLM server")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(body.length);
+        return body;
+    }
+
+    /**
+     * {@code llm.requests{outcome=success|timeout|error|cancelled}}: latency of calls to the LLM server
+     */
+    private Timer llmTimer(String outcome) {
+        return Timer.builder("llm.requests")
+                .description("Calls to the external LLM server")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        return error instanceof TimeoutException ? "timeout" : "error";
+    }
+
+    /**
+     * Answer to one question
+     *
+     * @param text answer text
+     * @param fallback true when the LLM server failed and the text was generated locally
+     * @param upstreamNanos time spent waiting for the LLM server
+     */
+    public record Answer(String text, boolean fallback, long upstreamNanos) {
+    }
+
+    /**
+     * One streamed piece of an answer; fallback when it is the locally generated fallback response
+     */
+    public record Token(String text, boolean fallback) {
     }
 
     /**
-     * Fallback response generator when LLM server is unavailable
+     * Fallback response generator when LLM server is unavailable (package-private for the JMH benchmark)
      */
-    private String generateFallbackResponse(String prompt, LLMDataDTO data) {
+    String generateFallbackResponse(String prompt, LLMDataDTO data) {
         String lowerPrompt = prompt.toLowerCase();
+        // Budgeted contexts list only some issues; their summary holds the totals over all of them
+        LLMDataDTO.SummaryDTO summary = data.getSummary();
+        long issueCount = summary != null ? summary.getTotalIssues() : data.getIssues().size();
+        double totalCost = summary != null
+                ? summary.getTotalCost()
+                : data.getIssues().stream()
+                        .mapToDouble(issue -> issue.getTotalCost() != null ? issue.getTotalCost() : 0.0)
+                        .sum();
         
         if (lowerPrompt.contains("cost") || lowerPrompt.contains("expensive")) {
-            double totalCost = data.getIssues().stream()
-                    .mapToDouble(issue -> issue.getTotalCost() != null ? issue.getTotalCost() : 0.0)
-                    .sum();
             return String.format("The total cost across all issues is $%.2f. There are %d issues and %d assignees in the system.",
-                    totalCost, data.getIssues().size(), data.getAssignees().size());
+                    totalCost, issueCount, data.getAssignees().size());
         }
         
         if (lowerPrompt.contains("efficient") || lowerPrompt.contains("performance")) {
@@ -131,19 +287,23 @@ public class LLMService {
         }
         
         if (lowerPrompt.contains("issue") || lowerPrompt.contains("task")) {
+            long completed = summary != null
+                    ? summary.getCompletedIssues()
+                    : data.getIssues().stream().filter(i -> "Done".equalsIgnoreCase(i.getStatus())).count();
+            double averageHours = summary != null
+                    ? (summary.getAverageTimeHours() != null ? summary.getAverageTimeHours() : 0.0)
+                    : data.getIssues().stream().mapToDouble(i -> i.getTimeTakenHours() != null ? i.getTimeTakenHours() : 0.0).average().orElse(0.0);
             return String.format("There are %d issues in the system. %d are completed. The average time per issue is %.2f hours.",
-                    data.getIssues().size(),
-                    data.getIssues().stream().mapToInt(i -> "Done".equalsIgnoreCase(i.getStatus()) ? 1 : 0).sum(),
-                    data.getIssues().stream().mapToDouble(i -> i.getTimeTakenHours() != null ? i.getTimeTakenHours() : 0.0).average().orElse(0.0));
+                    issueCount, completed, averageHours);
         }
         
         // Default response
         return String.format("Based on the project data: There are %d issues and %d assignees. " +
                 "The total cost is $%.2f. " +
                 "Would you like more specific information about costs, efficiency, or issues?",
-                data.getIssues().size(),
+                issueCount,
                 data.getAssignees().size(),
-                data.getIssues().stream().mapToDouble(i -> i.getTotalCost() != null ? i.getTotalCost() : 0.0).sum());
+                totalCost);
     }
 }
 
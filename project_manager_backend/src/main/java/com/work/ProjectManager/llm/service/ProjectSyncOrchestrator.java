@@ -0,0 +1,75 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraProjectDTO;
+import com.work.ProjectManager.jira.service.JiraService;
+import com.work.ProjectManager.llm.dto.MultiProjectSyncResult;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Syncs every Jira project in one run with bounded concurrency.
+ * All projects share one set of per-assignee aggregates, and assignee scores and performance
+ * are refreshed once after every project has been written, so assignees working across
+ * several projects are computed from the complete run rather than per project.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectSyncOrchestrator {
+
+    private final JiraService jiraService;
+    private final IssueAnalysisService issueAnalysisService;
+    private final SyncRunLedger syncRunLedger;
+
+    @Value("${sync.parallelism:4}")
+    private int defaultConcurrency;
+
+    /**
+     * Sync all projects; a failing project is reported in the summary without stopping the others
+     */
+    public Mono<MultiProjectSyncResult> syncAllProjects(SyncMode mode, Integer concurrency) {
+        int parallelism = concurrency != null && concurrency > 0 ? concurrency : defaultConcurrency;
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return issueAnalysisService.prepareSync()
+                    .flatMap(aggregates -> jiraService.getAllProjects()
+                            .flatMapMany(Flux::fromArray)
+                            .map(JiraProjectDTO::getKey)
+                            .flatMap(projectKey -> syncProject(projectKey, mode, aggregates), parallelism)
+                            .collectList()
+                            .flatMap(results -> issueAnalysisService.refreshAssigneeMetrics(aggregates)
+                                    .thenReturn(results)))
+                    .map(results -> summarize(mode, parallelism, results,
+                            Duration.ofNanos(System.nanoTime() - startNanos).toMillis()));
+        });
+    }
+
+    private Mono<SyncResult> syncProject(String projectKey, SyncMode mode, AssigneeTimeAggregates aggregates) {
+        // The shared assignee refresh after all projects is not part of any project's recorded run
+        return syncRunLedger.track(projectKey, mode, issueAnalysisService.storeProjectIssues(projectKey, mode, aggregates))
+                .onErrorResume(e -> {
+                    log.warn("Sync of project {} failed: {}", projectKey, e.getMessage());
+                    SyncResult failed = new SyncResult(projectKey, mode);
+                    failed.setError(e.getMessage());
+                    return Mono.just(failed);
+                });
+    }
+
+    private MultiProjectSyncResult summarize(SyncMode mode, int parallelism, List<SyncResult> results, long durationMs) {
+        List<SyncResult> sorted = results.stream()
+                .sorted(Comparator.comparing(SyncResult::getProjectKey))
+                .toList();
+        int failed = (int) sorted.stream().filter(r -> r.getError() != null).count();
+        return new MultiProjectSyncResult(mode, parallelism, sorted.size() - failed, failed, durationMs, sorted);
+    }
+}
@@ -0,0 +1,59 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the sync pipeline.
+ * <ul>
+ *     <li>{@code sync.phase{phase=fetch}}: time each chunk waited on Jira after the previous one was written</li>
+ *     <li>{@code sync.phase{phase=map}}: mapping Jira issues to rows, per chunk</li>
+ *     <li>{@code sync.phase{phase=persist}}: writing a chunk, including mapping and commit</li>
+ *     <li>{@code sync.phase{phase=recalculate}}: rescoring and assignee recalculation at the end of a run</li>
+ *     <li>{@code sync.batch.rows{outcome=inserted|updated|unchanged|skipped}}: rows per written chunk</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class SyncMetrics {
+
+    public static final String FETCH = "fetch";
+    public static final String MAP = "map";
+    public static final String PERSIST = "persist";
+    public static final String RECALCULATE = "recalculate";
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String phase, long nanos) {
+        phaseTimer(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBatch(BatchWriteResult batch) {
+        rows("inserted").record(batch.getInserted());
+        rows("updated").record(batch.getUpdated());
+        rows("unchanged").record(batch.getUnchanged());
+        rows("skipped").record(batch.getSkipped());
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("sync.phase")
+                .description("Time spent in each sync phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary rows(String outcome) {
+        return DistributionSummary.builder("sync.batch.rows")
+                .description("Rows per written sync chunk")
+                .baseUnit("rows")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.config.JiraRestClient;
+import com.work.ProjectManager.jira.service.JiraService;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one sync run, carried in the Reactor context of the run so that the Jira client,
+ * the search stream and the write path can add to them without being handed the run explicitly.
+ * Counts written before a failure are kept, so failed runs are recorded with partial figures.
+ */
+class SyncRunCounters {
+
+    private static final String CONTEXT_KEY = SyncRunCounters.class.getName();
+
+    final LongAdder pagesFetched = new LongAdder();
+    final LongAdder jiraRetries = new LongAdder();
+    final LongAdder issuesSeen = new LongAdder();
+    final LongAdder inserted = new LongAdder();
+    final LongAdder updated = new LongAdder();
+    final LongAdder unchanged = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final LongAdder fetchNanos = new LongAdder();
+    final LongAdder mapNanos = new LongAdder();
+    final LongAdder persistNanos = new LongAdder();
+    final LongAdder recalculateNanos = new LongAdder();
+
+    static Optional<SyncRunCounters> from(ContextView ctx) {
+        return ctx.getOrEmpty(CONTEXT_KEY);
+    }
+
+    Context writeTo(Context ctx) {
+        return ctx.put(CONTEXT_KEY, this)
+                .put(JiraRestClient.RETRY_COUNTER_KEY, jiraRetries)
+                .put(JiraService.PAGE_COUNTER_KEY, pagesFetched);
+    }
+
+    void add(BatchWriteResult batch) {
+        issuesSeen.add(batch.getTotal());
+        inserted.add(batch.getInserted());
+        updated.add(batch.getUpdated());
+        unchanged.add(batch.getUnchanged());
+        skipped.add(batch.getSkipped());
+        mapNanos.add(batch.getMapNanos());
+    }
+}
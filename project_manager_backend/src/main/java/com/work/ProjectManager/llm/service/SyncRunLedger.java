@@ -0,0 +1,132 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.SyncDurationStats;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import com.work.ProjectManager.llm.entity.SyncRun;
+import com.work.ProjectManager.llm.repository.SyncRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every project sync in the {@code sync_run} table and answers queries over past runs
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncRunLedger {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final SyncRunRepository syncRunRepository;
+
+    @Qualifier("syncDbScheduler")
+    private final Scheduler syncDbScheduler;
+
+    /**
+     * Record the run of one project sync when it completes or fails. The outcome of the sync
+     * is passed through unchanged; failing to write the record is logged, never propagated.
+     */
+    public Mono<SyncResult> track(String projectKey, SyncMode mode, Mono<SyncResult> sync) {
+        return Mono.defer(() -> {
+            SyncRunCounters counters = new SyncRunCounters();
+            LocalDateTime startedAt = LocalDateTime.now();
+            long startNanos = System.nanoTime();
+            return sync
+                    .flatMap(result -> save(toRun(projectKey, mode, startedAt, startNanos, counters, null))
+                            .thenReturn(result))
+                    .onErrorResume(e -> save(toRun(projectKey, mode, startedAt, startNanos, counters, e))
+                            .then(Mono.error(e)))
+                    .contextWrite(counters::writeTo);
+        });
+    }
+
+    /**
+     * Most recent runs first, optionally for one project only
+     */
+    public List<SyncRun> recentRuns(String projectKey, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, limit));
+        return projectKey != null && !projectKey.isBlank()
+                ? syncRunRepository.findByProjectKeyOrderByStartedAtDesc(projectKey, page)
+                : syncRunRepository.findAllByOrderByStartedAtDesc(page);
+    }
+
+    /**
+     * Duration percentiles (nearest rank) of each project's successful runs over the last days
+     */
+    public List<SyncDurationStats> durationStats(int days) {
+        Map<String, List<Long>> byProject = new TreeMap<>();
+        for (SyncRunRepository.RunDuration run
+                : syncRunRepository.findSucceededDurationsSince(LocalDateTime.now().minusDays(days))) {
+            byProject.computeIfAbsent(run.getProjectKey(), key -> new ArrayList<>()).add(run.getDurationMs());
+        }
+        List<SyncDurationStats> stats = new ArrayList<>(byProject.size());
+        byProject.forEach((projectKey, durations) -> {
+            durations.sort(Comparator.naturalOrder());
+            stats.add(new SyncDurationStats(projectKey, durations.size(),
+                    percentile(durations, 50), percentile(durations, 95), durations.get(durations.size() - 1)));
+        });
+        return stats;
+    }
+
+    private static long percentile(List<Long> sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private Mono<Void> save(SyncRun run) {
+        return Mono.fromRunnable(() -> syncRunRepository.save(run))
+                .subscribeOn(syncDbScheduler)
+                .onErrorResume(e -> {
+                    log.warn("Could not record sync run of project {}: {}", run.getProjectKey(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static SyncRun toRun(String projectKey, SyncMode mode, LocalDateTime startedAt, long startNanos,
+                                 SyncRunCounters counters, Throwable error) {
+        SyncRun run = new SyncRun();
+        run.setProjectKey(projectKey);
+        run.setMode(mode);
+        run.setStartedAt(startedAt);
+        run.setDurationMs(Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        run.setFinishedAt(startedAt.plus(Duration.ofMillis(run.getDurationMs())));
+        run.setSucceeded(error == null);
+        if (error != null) {
+            String message = String.valueOf(error.getMessage());
+            run.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        }
+        run.setPagesFetched(counters.pagesFetched.sum());
+        run.setJiraRetries(counters.jiraRetries.sum());
+        run.setIssuesSeen(counters.issuesSeen.intValue());
+        run.setInserted(counters.inserted.intValue());
+        run.setUpdated(counters.updated.intValue());
+        run.setUnchanged(counters.unchanged.intValue());
+        run.setSkipped(counters.skipped.intValue());
+        run.setFetchMs(millis(counters.fetchNanos));
+        run.setMapMs(millis(counters.mapNanos));
+        run.setPersistMs(millis(counters.persistNanos));
+        run.setRecalculateMs(millis(counters.recalculateNanos));
+        return run;
+    }
+
+    private static long millis(LongAdder nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+    }
+}
@@ -0,0 +1,191 @@
+package com.work.ProjectManager.utils;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parser for Jira timestamps, returning the wall-clock time in the timestamp's own offset
+ * (the offset is validated, not applied).
+ * The formats Jira actually sends ({@code yyyy-MM-ddTHH:mm:ss[.fraction]} followed by
+ * {@code Z}, {@code +hhmm} or {@code +hh:mm}) are read digit by digit without creating
+ * intermediate strings or exceptions. Anything else goes through {@link #parseLegacy}, which
+ * is the original implementation, so both always give the same answer.
+ */
+public final class JiraDateParser {
+
+    private static final int[] NANO_SCALE = {
+            0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private JiraDateParser() {
+    }
+
+    public static LocalDateTime parse(String jiraDateString) {
+        if (jiraDateString == null || jiraDateString.isEmpty()) {
+            return null;
+        }
+        LocalDateTime parsed = parseStrict(jiraDateString);
+        return parsed != null ? parsed : parseLegacy(jiraDateString);
+    }
+
+    /**
+     * The instant a Jira timestamp denotes, with its offset applied; null when it has no valid offset
+     */
+    public static Instant parseInstant(String jiraDateString) {
+        LocalDateTime local = parse(jiraDateString);
+        if (local == null) {
+            return null;
+        }
+        if (jiraDateString.endsWith("Z")) {
+            return local.toInstant(ZoneOffset.UTC);
+        }
+        int sign = Math.max(jiraDateString.lastIndexOf('+'), jiraDateString.lastIndexOf('-'));
+        if (sign < 19) {
+            return null;
+        }
+        try {
+            return local.toInstant(ZoneOffset.of(jiraDateString.substring(sign)));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fast path: null when the input is not exactly one of the supported formats or is not a valid date-time
+     */
+    static LocalDateTime parseStrict(String s) {
+        int len = s.length();
+        if (len < 20 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+
+        int pos = 19;
+        int nanos = 0;
+        if (s.charAt(pos) == '.') {
+            int start = ++pos;
+            while (pos < len && isDigit(s.charAt(pos))) {
+                pos++;
+            }
+            int count = pos - start;
+            if (count == 0 || count > 9) {
+                return null;
+            }
+            nanos = digits(s, start, count) * NANO_SCALE[count];
+        }
+
+        if (pos >= len || !validOffset(s, pos, len)) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    private static boolean validOffset(String s, int pos, int len) {
+        char sign = s.charAt(pos);
+        if (sign == 'Z') {
+            return pos + 1 == len;
+        }
+        if (sign != '+' && sign != '-') {
+            return false;
+        }
+        int hours;
+        int minutes;
+        if (len - pos == 5) {
+            hours = digits(s, pos + 1, 2);
+            minutes = digits(s, pos + 3, 2);
+        } else if (len - pos == 6 && s.charAt(pos + 3) == ':') {
+            hours = digits(s, pos + 1, 2);
+            minutes = digits(s, pos + 4, 2);
+        } else {
+            return false;
+        }
+        // Same range as ZoneOffset: up to +/-18:00
+        return hours >= 0 && minutes >= 0 && minutes <= 59 && (hours < 18 || (hours == 18 && minutes == 0));
+    }
+
+    /**
+     * Decimal value of {@code count} digits starting at {@code from}, or -1 if any is not a digit
+     */
+    private static int digits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Original string-rewriting parser, kept as the fallback for unusual inputs and as the
+     * reference the fast path is tested and benchmarked against
+     */
+    public static LocalDateTime parseLegacy(String jiraDateString) {
+        if (jiraDateString == null || jiraDateString.isEmpty()) {
+            return null;
+        }
+        try {
+            // Jira dates are in ISO-8601 format: "2024-01-15T10:30:00.000+0000" or "2024-01-15T10:30:00.000Z"
+            // Try parsing with ZonedDateTime first (handles timezone)
+            if (jiraDateString.endsWith("Z")) {
+                ZonedDateTime zonedDateTime = ZonedDateTime.parse(jiraDateString, DateTimeFormatter.ISO_ZONED_DATE_TIME);
+                return zonedDateTime.toLocalDateTime();
+            } else {
+                // Handle format like "2024-01-15T10:30:00.000+0000"
+                String normalized = jiraDateString;
+                if (normalized.length() > 19 && normalized.charAt(19) == '.') {
+                    // Has milliseconds
+                    int plusIndex = normalized.indexOf('+');
+                    int minusIndex = normalized.indexOf('-', 10); // Skip date part
+                    if (plusIndex > 0) {
+                        String datePart = normalized.substring(0, plusIndex);
+                        String timezonePart = normalized.substring(plusIndex);
+                        if (timezonePart.length() == 5) {
+                            // Format: +0000
+                            normalized = datePart + timezonePart.substring(0, 3) + ":" + timezonePart.substring(3);
+                        }
+                    } else if (minusIndex > 19) {
+                        // Negative timezone
+                        String datePart = normalized.substring(0, minusIndex);
+                        String timezonePart = normalized.substring(minusIndex);
+                        if (timezonePart.length() == 5) {
+                            normalized = datePart + timezonePart.substring(0, 3) + ":" + timezonePart.substring(3);
+                        }
+                    }
+                }
+                ZonedDateTime zonedDateTime = ZonedDateTime.parse(normalized);
+                return zonedDateTime.toLocalDateTime();
+            }
+        } catch (Exception e) {
+            // Fallback: try ISO_LOCAL_DATE_TIME if no timezone
+            try {
+                return LocalDateTime.parse(jiraDateString.substring(0, 19), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+    }
+}
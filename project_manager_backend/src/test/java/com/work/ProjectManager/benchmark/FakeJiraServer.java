@@ -0,0 +1,193 @@
+package com.work.ProjectManager.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the Jira Cloud REST API, for tests and benchmarks.
+ * Serves {@code /rest/api/3/project}, {@code /rest/api/3/project/{key}} and token-paginated
+ * {@code /rest/api/3/search/jql} over synthetic projects of any size. Issues are generated per
+ * page from {@link SyntheticIssues}, so a 100k-issue project costs no memory up front.
+ * Only the {@code project="KEY"} clause of the JQL is honoured; other clauses are ignored.
+ * Per-request latency and periodic 429 responses can be switched on to exercise the client.
+ */
+public class FakeJiraServer implements AutoCloseable {
+
+    private static final Pattern PROJECT_CLAUSE = Pattern.compile("project\\s*=\\s*\"?([A-Za-z0-9_]+)\"?");
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<String, int[]> projects = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int rateLimitEvery;
+    private volatile int retryAfterSeconds;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    public FakeJiraServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/rest/api/3/", this::handle);
+        server.start();
+    }
+
+    /** Base URL to configure as jira.base-url */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /** Add (or replace) a project with {@code issueCount} synthetic issues spread over {@code assignees} */
+    public FakeJiraServer addProject(String key, int issueCount, int assignees) {
+        projects.put(key, new int[]{issueCount, assignees});
+        return this;
+    }
+
+    /** Delay applied before every response */
+    public FakeJiraServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** Answer every n-th request with 429 and the given Retry-After; 0 disables */
+    public FakeJiraServer rateLimitEvery(int n, int retryAfterSeconds) {
+        this.rateLimitEvery = n;
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    public void resetCounters() {
+        requests.set(0);
+        rateLimited.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long n = requests.incrementAndGet();
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (rateLimitEvery > 0 && n % rateLimitEvery == 0) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfterSeconds));
+                send(exchange, 429, Map.of("errorMessages", List.of("Rate limit exceeded")));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            if (path.equals("/rest/api/3/project")) {
+                send(exchange, 200, projects.keySet().stream().sorted().map(this::project).toList());
+            } else if (path.startsWith("/rest/api/3/project/")) {
+                String key = path.substring("/rest/api/3/project/".length());
+                if (projects.containsKey(key)) {
+                    send(exchange, 200, project(key));
+                } else {
+                    send(exchange, 404, Map.of("errorMessages", List.of("No project could be found with key '" + key + "'.")));
+                }
+            } else if (path.equals("/rest/api/3/search/jql")) {
+                search(exchange, query);
+            } else {
+                send(exchange, 404, Map.of("errorMessages", List.of("Not found: " + path)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void search(HttpExchange exchange, Map<String, String> query) throws IOException {
+        Matcher matcher = PROJECT_CLAUSE.matcher(query.getOrDefault("jql", ""));
+        int[] project = matcher.find() ? projects.get(matcher.group(1)) : null;
+        if (project == null) {
+            send(exchange, 400, Map.of("errorMessages", List.of("Unknown project in JQL")));
+            return;
+        }
+        String key = matcher.group(1);
+        int pageSize = Math.min(MAX_PAGE_SIZE, Integer.parseInt(query.getOrDefault("maxResults", "50")));
+        // The page token is simply the index of the next issue
+        int start = Integer.parseInt(query.getOrDefault("nextPageToken", "0"));
+        int end = Math.min(project[0], start + pageSize);
+
+        List<JiraIssueDTO> issues = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            issues.add(SyntheticIssues.issue(key, i + 1, project[1]));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("issues", issues);
+        if (end < project[0]) {
+            body.put("nextPageToken", String.valueOf(end));
+        }
+        body.put("isLast", end >= project[0]);
+        send(exchange, 200, body);
+    }
+
+    private Map<String, Object> project(String key) {
+        Map<String, Object> project = new LinkedHashMap<>();
+        project.put("id", String.valueOf(Math.abs(key.hashCode())));
+        project.put("key", key);
+        project.put("name", "Synthetic project " + key);
+        project.put("description", projects.get(key)[0] + " synthetic issues");
+        return project;
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = jsonMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
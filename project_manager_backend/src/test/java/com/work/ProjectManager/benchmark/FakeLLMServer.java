@@ -0,0 +1,150 @@
+package com.work.ProjectManager.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the external LLM server, for tests and benchmarks.
+ * {@code POST /api/chat} returns the configured answer as {@code {"response": ...}};
+ * {@code POST /api/chat/stream} sends it word by word as Server-Sent Events followed by
+ * {@code data: [DONE]}. Latency before the first token, delay between tokens and a failing
+ * status can be set to exercise the client.
+ */
+public class FakeLLMServer implements AutoCloseable {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    private volatile String answer = "The most efficient assignee is Ann with an average efficiency score of 0.92.";
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration tokenDelay = Duration.ZERO;
+    private volatile int failureStatus;
+
+    private final AtomicLong requests = new AtomicLong();
+
+    public FakeLLMServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/chat", this::handle);
+        server.start();
+    }
+
+    /** Base URL to configure as llm.server.url */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Answer returned for every prompt */
+    public FakeLLMServer answer(String answer) {
+        this.answer = answer;
+        return this;
+    }
+
+    /** Delay before the response (and so before the first streamed token) */
+    public FakeLLMServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** Delay between streamed tokens */
+    public FakeLLMServer tokenDelay(Duration tokenDelay) {
+        this.tokenDelay = tokenDelay;
+        return this;
+    }
+
+    /** Answer every request with this status instead; 0 disables */
+    public FakeLLMServer failWith(int status) {
+        this.failureStatus = status;
+        return this;
+    }
+
+    /** The answer split the way it is streamed: words with their trailing space */
+    public List<String> tokens() {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= answer.length(); i++) {
+            if (i == answer.length() || answer.charAt(i - 1) == ' ') {
+                tokens.add(answer.substring(start, i));
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (failureStatus > 0) {
+                send(exchange, failureStatus, Map.of("error", "Simulated failure"));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/api/chat")) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("response", answer);
+                body.put("error", null);
+                send(exchange, 200, body);
+            } else if (path.equals("/api/chat/stream")) {
+                stream(exchange);
+            } else {
+                send(exchange, 404, Map.of("error", "Not found: " + path));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(HttpExchange exchange) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        // Chunked, so every token is flushed as it is written
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String token : tokens()) {
+                if (!tokenDelay.isZero()) {
+                    Thread.sleep(tokenDelay.toMillis());
+                }
+                out.write(("data: " + token + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = jsonMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.work.ProjectManager.benchmark;
+
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import com.work.ProjectManager.llm.service.IssueAnalysisService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shows that ingesting issues stays linear as the table grows: each size is written on top of
+ * the previous ones, so the 100k run starts with 11k rows already stored.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncScalingBenchmark {
+
+    private static final int ASSIGNEES = 50;
+
+    @Autowired
+    private IssueAnalysisService issueAnalysisService;
+
+    @Test
+    void syncTimePerIssueStaysFlat() {
+        // Warm up the JIT and connection pool
+        ingest("WARM", 2_000);
+
+        Map<Integer, Double> microsPerIssue = new LinkedHashMap<>();
+        for (int size : new int[]{1_000, 10_000, 100_000}) {
+            long start = System.nanoTime();
+            SyncResult result = ingest("S" + size, size);
+            long elapsedNanos = System.nanoTime() - start;
+
+            assertEquals(size, result.getInserted());
+            double perIssue = elapsedNanos / 1_000.0 / size;
+            microsPerIssue.put(size, perIssue);
+            System.out.printf("sync %,7d issues: %,6d ms  %8.1f us/issue  %,9.0f issues/s%n",
+                    size, Duration.ofNanos(elapsedNanos).toMillis(), perIssue, size / (elapsedNanos / 1e9));
+        }
+
+        // Quadratic scoring would make the 100k run ~100x slower per issue than the 1k run
+        double growth = microsPerIssue.get(100_000) / microsPerIssue.get(1_000);
+        assertTrue(growth < 4.0, "per-issue sync time grew " + growth + "x from 1k to 100k issues");
+    }
+
+    private SyncResult ingest(String projectKey, int count) {
+        return issueAnalysisService.ingestIssues(
+                        Flux.fromStream(() -> SyntheticIssues.project(projectKey, count, ASSIGNEES)),
+                        new SyncResult(projectKey, SyncMode.FULL))
+                .block();
+    }
+}
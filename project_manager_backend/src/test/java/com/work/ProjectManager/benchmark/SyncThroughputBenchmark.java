@@ -0,0 +1,135 @@
+package com.work.ProjectManager.benchmark;
+
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import com.work.ProjectManager.llm.service.IssueAnalysisService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end sync throughput: {@code syncIssuesForProject} against {@link FakeJiraServer}
+ * and H2, through the real WebClient, rate limiter, streaming decoder and bulk writer.
+ * Reports issues/s, heap allocated per issue and across the run, and Hibernate statement
+ * counts per size. Run with {@code mvn test -Pbenchmark}.
+ * A JIRA_BASE_URL in a local .env file overrides jira.base-url; remove it before running.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jira.client.rate-limit.max-rps=10000",
+        "jira.client.rate-limit.burst=1000",
+        "jira.client.retry.min-backoff=10ms"
+})
+@ActiveProfiles("test")
+class SyncThroughputBenchmark {
+
+    private static final int ASSIGNEES = 50;
+    private static final FakeJiraServer JIRA = startJira();
+
+    @Autowired
+    private IssueAnalysisService issueAnalysisService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void jiraProperties(DynamicPropertyRegistry registry) {
+        registry.add("jira.base-url", JIRA::baseUrl);
+    }
+
+    @AfterAll
+    static void stopJira() {
+        JIRA.close();
+    }
+
+    @Test
+    void syncThroughput() {
+        JIRA.addProject("WARM", 2_000, ASSIGNEES);
+        sync("WARM");
+
+        System.out.printf("%9s %9s %11s %10s %11s %10s %9s %9s%n",
+                "issues", "ms", "issues/s", "KB/issue", "alloc MB/s", "prepared", "inserts", "requests");
+        for (int size : new int[]{1_000, 10_000, 100_000}) {
+            String key = "T" + size;
+            JIRA.addProject(key, size, ASSIGNEES);
+            Run run = measure(key);
+
+            assertEquals(size, run.result().getInserted(), run.result().getError());
+            System.out.printf("%,9d %,9d %,11.0f %,10.1f %,11.1f %,10d %,9d %,9d%n",
+                    size, run.millis(), size * 1000.0 / run.millis(),
+                    run.allocatedBytes() / 1024.0 / size,
+                    run.allocatedBytes() / 1024.0 / 1024.0 / (run.millis() / 1000.0),
+                    run.preparedStatements(), run.inserts(), run.requests());
+        }
+    }
+
+    @Test
+    void syncSurvivesRateLimiting() {
+        JIRA.addProject("LIMITED", 5_000, ASSIGNEES).rateLimitEvery(7, 0).latency(Duration.ofMillis(5));
+        try {
+            Run run = measure("LIMITED");
+            assertEquals(5_000, run.result().getInserted(), run.result().getError());
+            assertTrue(JIRA.rateLimitedCount() > 0, "no 429s were injected");
+            System.out.printf("rate limited sync: %,d issues in %,d ms, %d of %d requests answered 429%n",
+                    5_000, run.millis(), JIRA.rateLimitedCount(), run.requests());
+        } finally {
+            JIRA.rateLimitEvery(0, 0).latency(Duration.ZERO);
+        }
+    }
+
+    private Run measure(String projectKey) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JIRA.resetCounters();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        SyncResult result = sync(projectKey);
+
+        long millis = Math.max(1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return new Run(result, millis, allocatedBytes() - allocatedBefore,
+                statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(), JIRA.requestCount());
+    }
+
+    private SyncResult sync(String projectKey) {
+        return issueAnalysisService.syncIssuesForProject(projectKey, SyncMode.FULL).block();
+    }
+
+    /**
+     * Bytes allocated on the heap since the JVM started, by every thread including those that
+     * have since exited (sync work spans Netty, scheduler and pool threads, which come and go)
+     */
+    private static long allocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getTotalThreadAllocatedBytes();
+    }
+
+    private static FakeJiraServer startJira() {
+        try {
+            return new FakeJiraServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Run(SyncResult result, long millis, long allocatedBytes,
+                       long preparedStatements, long inserts, long requests) {
+    }
+}
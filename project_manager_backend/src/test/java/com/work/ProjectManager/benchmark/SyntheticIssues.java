@@ -0,0 +1,75 @@
+package com.work.ProjectManager.benchmark;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraUserDTO;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic Jira issues for benchmarks
+ */
+public final class SyntheticIssues {
+
+    private static final DateTimeFormatter JIRA_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'+0000'");
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] STATUSES = {"To Do", "In Progress", "In Review", "Done"};
+
+    private SyntheticIssues() {
+    }
+
+    /**
+     * {@code count} issues of one project spread over {@code assignees} assignees;
+     * roughly 70% are resolved. The same arguments always produce the same issues.
+     */
+    public static Stream<JiraIssueDTO> project(String projectKey, int count, int assignees) {
+        Random random = new Random(projectKey.hashCode());
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> issue(projectKey, i, random.nextInt(assignees), random));
+    }
+
+    /**
+     * Issue {@code number} of a project, generated independently of every other issue so pages can be served lazily
+     */
+    public static JiraIssueDTO issue(String projectKey, int number, int assignees) {
+        Random random = new Random(31L * projectKey.hashCode() + number);
+        return issue(projectKey, number, random.nextInt(assignees), random);
+    }
+
+    public static JiraIssueDTO issue(String projectKey, int number, int assignee, Random random) {
+        LocalDateTime created = EPOCH.plusMinutes(number * 37L);
+        boolean resolved = random.nextInt(10) < 7;
+
+        JiraUserDTO user = new JiraUserDTO();
+        user.setAccountId("acct-" + assignee);
+        user.setDisplayName("Assignee " + assignee);
+        user.setEmailAddress("assignee" + assignee + "@example.com");
+
+        JiraIssueDTO.Status status = new JiraIssueDTO.Status();
+        status.setName(resolved ? "Done" : STATUSES[random.nextInt(STATUSES.length - 1)]);
+
+        JiraIssueDTO.Project project = new JiraIssueDTO.Project();
+        project.setKey(projectKey);
+
+        JiraIssueDTO.Fields fields = new JiraIssueDTO.Fields();
+        fields.setSummary("Synthetic issue " + number + " of " + projectKey);
+        fields.setDescription("Generated for benchmarking; issue " + number + " assigned to " + user.getDisplayName());
+        fields.setStatus(status);
+        fields.setProject(project);
+        fields.setAssignee(user);
+        fields.setCreated(created.format(JIRA_FORMAT));
+        fields.setUpdated(created.plusHours(1).format(JIRA_FORMAT));
+        if (resolved) {
+            fields.setResolutiondate(created.plusMinutes(30 + random.nextInt(60 * 24 * 5)).format(JIRA_FORMAT));
+        }
+
+        JiraIssueDTO issue = new JiraIssueDTO();
+        issue.setId(String.valueOf(number));
+        issue.setKey(projectKey + "-" + number);
+        issue.setFields(fields);
+        return issue;
+    }
+}
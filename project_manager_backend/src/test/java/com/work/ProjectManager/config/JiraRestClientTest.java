@@ -0,0 +1,199 @@
+package com.work.ProjectManager.config;
+
+import com.work.ProjectManager.exceptions.JiraApiException;
+import com.work.ProjectManager.exceptions.JiraRateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retry, throttling and request coalescing in {@link JiraRestClient}, against scripted responses
+ */
+class JiraRestClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Responses handed out in order; the last one repeats
+    private final Deque<Supplier<ClientResponse>> responses = new ArrayDeque<>();
+    private final List<Long> requestNanos = new ArrayList<>();
+    // Delay before each scripted response arrives
+    private Duration latency = Duration.ZERO;
+
+    private JiraRateLimiter rateLimiter;
+    private JiraRestClient client;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://jira.test")
+                .exchangeFunction(request -> {
+                    synchronized (requestNanos) {
+                        requestNanos.add(System.nanoTime());
+                        Mono<ClientResponse> response = Mono.fromSupplier(responses.size() > 1 ? responses.poll() : responses.peek());
+                        return latency.isZero() ? response : response.delaySubscription(latency);
+                    }
+                })
+                .build();
+        rateLimiter = new JiraRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "maxRate", 1000.0);
+        ReflectionTestUtils.setField(rateLimiter, "minRate", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 1000.0);
+        ReflectionTestUtils.setField(rateLimiter, "increaseStep", 0.2);
+        rateLimiter.registerMetrics();
+
+        client = new JiraRestClient(webClient, rateLimiter, meterRegistry);
+        ReflectionTestUtils.setField(client, "maxRetries", 3);
+        ReflectionTestUtils.setField(client, "minBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(client, "maxBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "maxRetryAfter", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(client, "coalesceRequests", true);
+    }
+
+    @Test
+    void retriesServerErrorsUntilSuccess() {
+        respond(HttpStatus.SERVICE_UNAVAILABLE, null);
+        respond(HttpStatus.BAD_GATEWAY, null);
+        respond(HttpStatus.OK, null);
+
+        assertEquals("ok", client.get("/project/MW", String.class).block());
+        assertEquals(3, requestNanos.size());
+    }
+
+    @Test
+    void givesUpAfterMaxRetries() {
+        respond(HttpStatus.SERVICE_UNAVAILABLE, null);
+
+        JiraApiException error = assertThrows(JiraApiException.class,
+                () -> client.get("/project/MW", String.class).block());
+        assertEquals(503, error.getStatusCode());
+        assertEquals(4, requestNanos.size());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        respond(HttpStatus.NOT_FOUND, null);
+
+        assertThrows(JiraApiException.class, () -> client.get("/project/MW", String.class).block());
+        assertEquals(1, requestNanos.size());
+    }
+
+    @Test
+    void retriesNonIdempotentCallsOnlyOnRateLimit() {
+        respond(HttpStatus.SERVICE_UNAVAILABLE, null);
+        respond(HttpStatus.OK, null);
+        assertThrows(JiraApiException.class, () -> client.post("/issue", "{}", String.class).block());
+        assertEquals(1, requestNanos.size());
+
+        responses.clear();
+        requestNanos.clear();
+        respond(HttpStatus.TOO_MANY_REQUESTS, null);
+        respond(HttpStatus.OK, null);
+        assertEquals("ok", client.post("/issue", "{}", String.class).block());
+        assertEquals(2, requestNanos.size());
+    }
+
+    @Test
+    void waitsForRetryAfterAndSlowsDown() {
+        respond(HttpStatus.TOO_MANY_REQUESTS, "1");
+        respond(HttpStatus.OK, null);
+
+        assertEquals("ok", client.get("/project/MW", String.class).block());
+        assertEquals(2, requestNanos.size());
+        long waitedMillis = (requestNanos.get(1) - requestNanos.get(0)) / 1_000_000;
+        assertTrue(waitedMillis >= 950, "waited " + waitedMillis + " ms");
+        // Halved on the 429, then nudged up by the success
+        assertEquals(500.2, meterRegistry.get("jira.ratelimit.rate").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void failsInsteadOfWaitingForALongRetryAfter() {
+        respond(HttpStatus.TOO_MANY_REQUESTS, "120");
+
+        assertThrows(JiraRateLimitException.class, () -> client.get("/project/MW", String.class).block());
+        assertEquals(1, requestNanos.size());
+    }
+
+    @Test
+    void parsesRetryAfterInSecondsOrAsADate() {
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "7");
+        assertEquals(Duration.ofSeconds(7), JiraRestClient.parseRetryAfter(seconds));
+
+        HttpHeaders past = new HttpHeaders();
+        past.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertEquals(Duration.ZERO, JiraRestClient.parseRetryAfter(past));
+
+        HttpHeaders garbage = new HttpHeaders();
+        garbage.set(HttpHeaders.RETRY_AFTER, "soon");
+        assertNull(JiraRestClient.parseRetryAfter(garbage));
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneRequest() {
+        latency = Duration.ofMillis(100);
+        respond(HttpStatus.OK, null);
+
+        var both = Mono.zip(client.get("/project/MW", String.class), client.get("/project/MW", String.class)).block();
+        assertEquals("ok", both.getT1());
+        assertEquals("ok", both.getT2());
+        assertEquals(1, requestNanos.size());
+        assertEquals(1.0, meterRegistry.counter("jira.client.requests.coalesced").count());
+
+        Mono.zip(client.get("/project/MW", String.class), client.get("/project/OPS", String.class)).block();
+        assertEquals(3, requestNanos.size());
+    }
+
+    @Test
+    void callAfterTheSharedResultStartsANewRequest() {
+        respond(HttpStatus.OK, null);
+
+        // Issued while the first result is being delivered: it must not be served that finished call
+        client.get("/project/MW", String.class)
+                .flatMap(first -> client.get("/project/MW", String.class))
+                .block();
+        assertEquals(2, requestNanos.size());
+        assertEquals(0.0, meterRegistry.counter("jira.client.requests.coalesced").count());
+    }
+
+    @Test
+    void sharedFailureReachesEverySubscriber() {
+        latency = Duration.ofMillis(100);
+        respond(HttpStatus.NOT_FOUND, null);
+
+        Mono<String> first = client.get("/project/MW", String.class).onErrorReturn("failed");
+        Mono<String> second = client.get("/project/MW", String.class).onErrorReturn("failed");
+        var both = Mono.zip(first, second).block();
+        assertEquals("failed", both.getT1());
+        assertEquals("failed", both.getT2());
+        assertEquals(1, requestNanos.size());
+    }
+
+    private void respond(HttpStatus status, String retryAfter) {
+        responses.add(() -> {
+            ClientResponse.Builder response = ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                    .body(status.is2xxSuccessful() ? "ok" : status.getReasonPhrase());
+            if (retryAfter != null) {
+                response.header(HttpHeaders.RETRY_AFTER, retryAfter);
+            }
+            return response.build();
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.work.ProjectManager.jira.service;
+
+import com.work.ProjectManager.config.JiraRestClient;
+import com.work.ProjectManager.exceptions.JiraApiException;
+import com.work.ProjectManager.jira.dto.JiraProjectDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JiraMetadataCacheTest {
+
+    private static final String ENDPOINT = "/rest/api/3/project";
+
+    private final JiraRestClient jiraRestClient = mock(JiraRestClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JiraMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JiraMetadataCache(jiraRestClient, meterRegistry, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "maxStale", Duration.ofHours(1));
+        cache.registerMetrics();
+    }
+
+    @Test
+    void servesStaleCopyWhileRevalidatingWithTheValidators() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        when(jiraRestClient.getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), isNull(), isNull()))
+                .thenReturn(Mono.just(new ResponseEntity<>(projects("MW"), headers, HttpStatus.OK)));
+        when(jiraRestClient.getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), eq("\"v1\""), any()))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+
+        assertEquals("MW", get(Duration.ZERO)[0].getKey());
+        // Past its TTL: answered from memory, a conditional request revalidates it and the 304 keeps the body
+        assertEquals("MW", get(Duration.ZERO)[0].getKey());
+        verify(jiraRestClient).getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), eq("\"v1\""), any());
+
+        assertEquals("MW", get(Duration.ofMinutes(5))[0].getKey());
+        assertEquals(1.0, gets("miss"));
+        assertEquals(1.0, gets("stale"));
+        assertEquals(1.0, gets("hit"));
+    }
+
+    @Test
+    void callersCannotChangeTheCachedCopy() {
+        when(jiraRestClient.getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(projects("MW", "OPS"))));
+
+        JiraProjectDTO[] first = get(Duration.ofMinutes(5));
+        first[0].setKey("CHANGED");
+        first[1] = null;
+
+        JiraProjectDTO[] second = get(Duration.ofMinutes(5));
+        assertEquals("MW", second[0].getKey());
+        assertEquals("OPS", second[1].getKey());
+        assertEquals(1.0, gets("hit"));
+    }
+
+    @Test
+    void emptyBodyIsAFailedLoadAndNotCached() {
+        when(jiraRestClient.getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        assertThrows(JiraApiException.class, () -> get(Duration.ofMinutes(5)));
+        assertThrows(JiraApiException.class, () -> get(Duration.ofMinutes(5)));
+        verify(jiraRestClient, times(2)).getConditional(eq(ENDPOINT), eq(JiraProjectDTO[].class), any(), any());
+        assertEquals(0.0, meterRegistry.get("cache.size").gauge().value());
+    }
+
+    private JiraProjectDTO[] get(Duration ttl) {
+        return cache.get("jiraProjects", ENDPOINT, JiraProjectDTO[].class, ttl).block();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.counter("cache.gets", "cache", "jiraProjects", "result", result).count();
+    }
+
+    private static JiraProjectDTO[] projects(String... keys) {
+        JiraProjectDTO[] projects = new JiraProjectDTO[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            projects[i] = new JiraProjectDTO();
+            projects[i].setKey(keys[i]);
+            projects[i].setName("Project " + keys[i]);
+        }
+        return projects;
+    }
+}
@@ -0,0 +1,68 @@
+package com.work.ProjectManager.jira.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JiraSearchStreamDecoderTest {
+
+    private static final String PAGE = """
+            {"expand":"names","issues":[
+              {"id":"1","key":"MW-1","fields":{"summary":"Braces } and [ in \\"text\\"","status":{"name":"Done"},
+                "assignee":{"accountId":"a1","displayName":"Ann"},"created":"2024-01-01T10:00:00.000+0000"}},
+              {"id":"2","key":"MW-2","self":"https://x/rest/api/3/issue/2","fields":{"summary":"Second","labels":["x",{"y":[1,2]}]}}
+            ],"nextPageToken":"tok-2","isLast":false,"names":{"summary":"Summary"}}
+            """;
+
+    private final JiraSearchStreamDecoder decoder = new JiraSearchStreamDecoder(JsonMapper.builder().build());
+
+    @Test
+    void decodesIssuesRegardlessOfChunkBoundaries() {
+        byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize : new int[]{1, 7, 64, body.length}) {
+            List<JiraSearchStreamDecoder.PageEvent> events = decoder.decode(chunks(body, chunkSize))
+                    .collectList().block();
+
+            assertEquals(3, events.size(), "chunk size " + chunkSize);
+            var first = assertInstanceOf(JiraSearchStreamDecoder.IssueDecoded.class, events.get(0)).issue();
+            assertEquals("MW-1", first.getKey());
+            assertEquals("Braces } and [ in \"text\"", first.getFields().getSummary());
+            assertEquals("a1", first.getFields().getAssignee().getAccountId());
+            var second = assertInstanceOf(JiraSearchStreamDecoder.IssueDecoded.class, events.get(1)).issue();
+            assertEquals("MW-2", second.getKey());
+            var end = assertInstanceOf(JiraSearchStreamDecoder.PageEnd.class, events.get(2));
+            assertEquals("tok-2", end.nextPageToken());
+            assertTrue(end.hasNextPage());
+        }
+    }
+
+    @Test
+    void lastPageHasNoNextPage() {
+        byte[] body = "{\"issues\":[],\"isLast\":true}".getBytes(StandardCharsets.UTF_8);
+        List<JiraSearchStreamDecoder.PageEvent> events = decoder.decode(chunks(body, 5)).collectList().block();
+
+        assertEquals(1, events.size());
+        assertFalse(assertInstanceOf(JiraSearchStreamDecoder.PageEnd.class, events.get(0)).hasNextPage());
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < body.length; i += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(body, i, Math.min(body.length, i + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,118 @@
+package com.work.ProjectManager.jira.service;
+
+import com.work.ProjectManager.benchmark.FakeJiraServer;
+import com.work.ProjectManager.config.JiraRestClient;
+import com.work.ProjectManager.exceptions.JiraApiException;
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraIssuePageDTO;
+import com.work.ProjectManager.jira.dto.JiraUserDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A search page is far larger than the in-memory limit, so none may be bound whole
+@SpringBootTest(properties = "jira.client.max-in-memory-size=16KB")
+@ActiveProfiles("test")
+class JiraServiceTest {
+
+    private static final FakeJiraServer JIRA = startJira();
+
+    @Autowired
+    private JiraService jiraService;
+
+    @DynamicPropertySource
+    static void jiraProperties(DynamicPropertyRegistry registry) {
+        registry.add("jira.base-url", JIRA::baseUrl);
+    }
+
+    @AfterAll
+    static void stopJira() {
+        JIRA.close();
+    }
+
+    @Test
+    void legacyListingReturnsTheFirstPageOnly() {
+        JiraIssueDTO[] issues = jiraService.getIssuesByProject("MW").block();
+
+        assertEquals(100, issues.length);
+    }
+
+    @Test
+    void streamsEveryIssueOfAProjectAcrossPages() {
+        List<JiraIssueDTO> issues = jiraService.streamIssuesByProject("MW").collectList().block();
+
+        assertEquals(250, issues.stream().map(JiraIssueDTO::getKey).distinct().count());
+    }
+
+    @Test
+    void followsCursorsPageByPage() {
+        JiraIssuePageDTO first = jiraService.getIssuesPageByProject("MW", null, 100).block();
+        assertEquals(100, first.getIssues().length);
+        assertNotNull(first.getNextCursor());
+
+        JiraIssuePageDTO second = jiraService.getIssuesPageByProject("MW", first.getNextCursor(), 100).block();
+        JiraIssuePageDTO last = jiraService.getIssuesPageByProject("MW", second.getNextCursor(), 100).block();
+        assertEquals(50, last.getIssues().length);
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void writesTheUpdatedSinceInstantInTheJiraUsersTimeZone() {
+        JiraUserDTO myself = new JiraUserDTO();
+        myself.setTimeZone("Asia/Kolkata");
+        JiraService service = jiraServiceWithProfile(Mono.just(myself));
+
+        service.streamIssuesUpdatedSince("MW", Instant.parse("2026-03-01T22:10:00Z")).blockLast();
+
+        verify(service).streamIssues("project=\"MW\" AND updated >= \"2026/03/02 03:40\" ORDER BY updated ASC");
+    }
+
+    @Test
+    void widensTheUpdatedSinceWindowWhenTheTimeZoneIsUnknown() {
+        JiraService service = jiraServiceWithProfile(Mono.error(new JiraApiException("Not Found", 404, "")));
+
+        service.streamIssuesUpdatedSince("MW", Instant.parse("2026-03-01T22:10:00Z")).blockLast();
+
+        // Written at UTC-12, which no user's zone reads as later than the instant
+        verify(service).streamIssues("project=\"MW\" AND updated >= \"2026/03/01 10:10\" ORDER BY updated ASC");
+    }
+
+    private static JiraService jiraServiceWithProfile(Mono<JiraUserDTO> myself) {
+        JiraMetadataCache cache = mock(JiraMetadataCache.class);
+        when(cache.get(eq("jiraMyself"), eq("/rest/api/3/myself"), eq(JiraUserDTO.class), any())).thenReturn(myself);
+        JiraService service = spy(new JiraService(mock(JiraRestClient.class), cache, mock(JiraSearchStreamDecoder.class)));
+        doReturn(Flux.empty()).when(service).streamIssues(anyString());
+        return service;
+    }
+
+    private static FakeJiraServer startJira() {
+        try {
+            return new FakeJiraServer().addProject("MW", 250, 5);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
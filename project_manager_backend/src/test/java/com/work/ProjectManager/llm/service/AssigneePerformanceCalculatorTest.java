@@ -0,0 +1,93 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AssigneePerformanceCalculatorTest {
+
+    @Autowired
+    private AssigneePerformanceCalculator calculator;
+
+    @Autowired
+    private IssueAnalysisRepository issueAnalysisRepository;
+
+    @Autowired
+    private AssigneePerformanceRepository assigneePerformanceRepository;
+
+    @BeforeEach
+    void setUp() {
+        issueAnalysisRepository.deleteAllInBatch();
+        assigneePerformanceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void aggregatesCompletedIssuesPerAssignee() {
+        issueAnalysisRepository.saveAll(List.of(
+                issue("MW-1", "acc-1", true, 4.0, 200.0, 1.0),
+                issue("MW-2", "acc-1", true, 8.0, 400.0, 0.5),
+                issue("MW-3", "acc-1", false, null, null, null),
+                issue("MW-4", "acc-2", true, 2.0, 100.0, 1.0)));
+
+        assertEquals(2, calculator.recalculateAll());
+
+        AssigneePerformance first = assigneePerformanceRepository.findById("acc-1").orElseThrow();
+        assertEquals(2, first.getTotalIssuesCompleted());
+        assertEquals(6.0, first.getAverageTimeHours());
+        assertEquals(0.75, first.getAverageEfficiencyScore());
+        assertEquals(600.0, first.getTotalCostIncurred());
+        assertEquals("Name acc-1", first.getName());
+        assertEquals(1, assigneePerformanceRepository.findById("acc-2").orElseThrow().getTotalIssuesCompleted());
+    }
+
+    @Test
+    void resetsAssigneesLeftWithoutCompletedIssues() {
+        issueAnalysisRepository.saveAll(List.of(
+                issue("MW-1", "acc-1", true, 4.0, 200.0, 1.0),
+                issue("MW-2", "acc-2", true, 2.0, 100.0, 1.0)));
+        calculator.recalculateAll();
+
+        // MW-1 was reopened
+        issueAnalysisRepository.save(issue("MW-1", "acc-1", false, null, null, null));
+        assertEquals(0, calculator.recalculate(List.of("acc-1", "acc-3")));
+
+        AssigneePerformance reset = assigneePerformanceRepository.findById("acc-1").orElseThrow();
+        assertEquals(0, reset.getTotalIssuesCompleted());
+        assertEquals(0.0, reset.getTotalCostIncurred());
+        // Only the requested assignees were touched, and none was created for acc-3
+        assertEquals(1, assigneePerformanceRepository.findById("acc-2").orElseThrow().getTotalIssuesCompleted());
+        assertFalse(assigneePerformanceRepository.existsById("acc-3"));
+    }
+
+    private static IssueAnalysis issue(String key, String accountId, boolean resolved, Double hours, Double cost,
+                                       Double efficiency) {
+        IssueAnalysis issue = new IssueAnalysis();
+        issue.setIssueKey(key);
+        issue.setProjectKey("MW");
+        issue.setSummary("Issue " + key);
+        issue.setAssigneeAccountId(accountId);
+        issue.setAssigneeName("Name " + accountId);
+        issue.setAssigneeEmail(accountId + "@example.com");
+        issue.setStatus(resolved ? "Done" : "In Progress");
+        issue.setCreatedDate(LocalDateTime.of(2026, 1, 5, 9, 0));
+        issue.setResolvedDate(resolved ? LocalDateTime.of(2026, 1, 6, 9, 0) : null);
+        issue.setTimeTakenHours(hours);
+        issue.setTotalCost(cost);
+        issue.setEfficiencyScore(efficiency);
+        return issue;
+    }
+}
@@ -0,0 +1,64 @@
+package com.work.ProjectManager.llm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HourlyCostCsvTest {
+
+    @Test
+    void skipsHeaderCommentsAndBlankLines() throws IOException {
+        Map<String, Double> costs = parse("""
+                # exported from payroll
+                accountId,hourlyCost
+
+                "abc-1", "42.5"
+                abc-2,30
+                # abc-3,99
+                abc-1,45
+                """);
+
+        assertEquals(Map.of("abc-1", 45.0, "abc-2", 30.0), costs);
+    }
+
+    @Test
+    void firstRowIsDataWhenItHasACost() throws IOException {
+        assertEquals(Map.of("abc-1", 42.5, "abc-2", 0.5), parse("abc-1,42.5\nabc-2,.5\n"));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasAndQuotes() throws IOException {
+        assertEquals(Map.of("acc,1", 50.0, "say \"hi\"", 2.0, "", 3.0),
+                parse("\"acc,1\",50\n\"say \"\"hi\"\"\", \"2\"\n\"\",3\n"));
+    }
+
+    @Test
+    void rejectsBadRowsWithTheirLineNumber() {
+        IllegalArgumentException columns = assertThrows(IllegalArgumentException.class,
+                () -> parse("accountId,hourlyCost\nabc-1,42.5,USD\n"));
+        assertTrue(columns.getMessage().startsWith("Line 2:"), columns.getMessage());
+
+        IllegalArgumentException cost = assertThrows(IllegalArgumentException.class,
+                () -> parse("accountId,hourlyCost\nabc-1,42.5\nabc-2,n/a\n"));
+        assertEquals("Line 3: invalid hourly cost 'n/a'", cost.getMessage());
+
+        IllegalArgumentException quote = assertThrows(IllegalArgumentException.class,
+                () -> parse("accountId,hourlyCost\n\"abc-1,42.5\n"));
+        assertEquals("Line 2: unterminated quoted field", quote.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parse("\"abc\"-1,42.5\n"));
+
+        // Only the first row may be a header
+        assertThrows(IllegalArgumentException.class, () -> parse("abc-1,42.5\naccountId,hourlyCost\n"));
+    }
+
+    private static Map<String, Double> parse(String csv) throws IOException {
+        return HourlyCostCsv.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
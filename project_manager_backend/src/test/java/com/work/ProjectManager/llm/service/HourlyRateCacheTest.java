@@ -0,0 +1,90 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HourlyRateCacheTest {
+
+    private final AssigneePerformanceRepository assigneePerformanceRepository = mock(AssigneePerformanceRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HourlyRateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new HourlyRateCache(assigneePerformanceRepository, meterRegistry);
+        cache.registerMetrics();
+        when(assigneePerformanceRepository.findConfiguredHourlyRates()).thenReturn(List.of(rate("acc-1", 80.0)));
+    }
+
+    @Test
+    void loadsOnceAndFallsBackToTheDefaultRate() {
+        assertEquals(80.0, cache.rateFor("acc-1"));
+        assertEquals(cache.getDefaultHourlyRate(), cache.rateFor("acc-2"));
+        assertEquals(80.0, cache.rateFor("acc-1"));
+
+        verify(assigneePerformanceRepository, times(1)).findConfiguredHourlyRates();
+        assertEquals(2.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    void reloadDropsRatesThatWereCleared() {
+        cache.reload();
+        when(assigneePerformanceRepository.findConfiguredHourlyRates()).thenReturn(List.of(rate("acc-2", 60.0)));
+        cache.reload();
+
+        assertEquals(cache.getDefaultHourlyRate(), cache.rateFor("acc-1"));
+        assertEquals(60.0, cache.rateFor("acc-2"));
+    }
+
+    @Test
+    void writesThroughOnlyAfterCommit() {
+        cache.reload();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put("acc-1", 95.0);
+            cache.put("acc-2", 70.0);
+            assertEquals(80.0, cache.rateFor("acc-1"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(95.0, cache.rateFor("acc-1"));
+        assertEquals(70.0, cache.rateFor("acc-2"));
+
+        cache.put("acc-2", null);
+        assertEquals(cache.getDefaultHourlyRate(), cache.rateFor("acc-2"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.counter("cache.gets", "cache", "hourlyRates", "result", result).count();
+    }
+
+    private static AssigneePerformanceRepository.HourlyRate rate(String accountId, Double hourlyCost) {
+        return new AssigneePerformanceRepository.HourlyRate() {
+            @Override
+            public String getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public Double getHourlyCost() {
+                return hourlyCost;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraUserDTO;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IssueAnalysisBulkWriterTest {
+
+    @Autowired
+    private IssueAnalysisBulkWriter bulkWriter;
+
+    @Autowired
+    private IssueAnalysisRepository issueAnalysisRepository;
+
+    @BeforeEach
+    void setUp() {
+        issueAnalysisRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void countsInsertedUpdatedUnchangedAndSkippedRows() {
+        JiraIssueDTO unmappable = new JiraIssueDTO();
+        unmappable.setKey("MW-9");
+        BatchWriteResult first = upsert(issue("MW-1", "Login fails"), issue("MW-2", "Old title"),
+                issue("MW-2", "Dark mode"), unmappable);
+        assertEquals(new BatchWriteResult(2, 0, 0, 2, first.getMapNanos()), first);
+        assertEquals("Dark mode", summary("MW-2"));
+
+        LocalDateTime syncedBefore = lastSynced("MW-1");
+        BatchWriteResult second = upsert(issue("MW-1", "Login fails"), issue("MW-2", "Dark theme"),
+                issue("MW-3", "Export"));
+        assertEquals(new BatchWriteResult(1, 1, 1, 0, second.getMapNanos()), second);
+        assertEquals("Dark theme", summary("MW-2"));
+        // An unchanged row is not written at all
+        assertEquals(syncedBefore, lastSynced("MW-1"));
+        assertEquals(3, issueAnalysisRepository.count());
+    }
+
+    @Test
+    void scoresAgainstTheAverageOfEveryStoredIssue() {
+        AssigneeTimeAggregates aggregates = AssigneeTimeAggregates.load(issueAnalysisRepository);
+        bulkWriter.upsert(List.of(completed("MW-1", "13:00")), aggregates);
+        // Written by another sync after these aggregates were loaded
+        upsert(completed("MW-2", "11:00"));
+
+        bulkWriter.applyEfficiencyScores(aggregates);
+
+        // Average 3h against 4h taken
+        assertEquals(0.75, issueAnalysisRepository.findById("MW-1").orElseThrow().getEfficiencyScore(), 1e-9);
+    }
+
+    private BatchWriteResult upsert(JiraIssueDTO... issues) {
+        return bulkWriter.upsert(List.of(issues), AssigneeTimeAggregates.load(issueAnalysisRepository));
+    }
+
+    private String summary(String issueKey) {
+        return issueAnalysisRepository.findById(issueKey).map(IssueAnalysis::getSummary).orElse(null);
+    }
+
+    private LocalDateTime lastSynced(String issueKey) {
+        return issueAnalysisRepository.findById(issueKey).map(IssueAnalysis::getLastSynced).orElse(null);
+    }
+
+    private static JiraIssueDTO completed(String key, String resolvedAt) {
+        JiraIssueDTO issue = issue(key, "Issue " + key);
+        issue.getFields().getStatus().setName("Done");
+        issue.getFields().setResolutiondate("2026-01-05T" + resolvedAt + ":00.000+0000");
+        return issue;
+    }
+
+    private static JiraIssueDTO issue(String key, String summary) {
+        JiraIssueDTO.Project project = new JiraIssueDTO.Project();
+        project.setKey("MW");
+        JiraIssueDTO.Status status = new JiraIssueDTO.Status();
+        status.setName("In Progress");
+        JiraUserDTO assignee = new JiraUserDTO();
+        assignee.setAccountId("acc-1");
+        assignee.setDisplayName("Dana");
+        JiraIssueDTO.Fields fields = new JiraIssueDTO.Fields();
+        fields.setProject(project);
+        fields.setStatus(status);
+        fields.setAssignee(assignee);
+        fields.setSummary(summary);
+        fields.setCreated("2026-01-05T09:00:00.000+0000");
+        JiraIssueDTO issue = new JiraIssueDTO();
+        issue.setKey(key);
+        issue.setFields(fields);
+        return issue;
+    }
+}
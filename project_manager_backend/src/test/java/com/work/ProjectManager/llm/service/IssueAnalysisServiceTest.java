@@ -0,0 +1,153 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraUserDTO;
+import com.work.ProjectManager.jira.service.JiraService;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IssueAnalysisServiceTest {
+
+    @Autowired
+    private IssueAnalysisService issueAnalysisService;
+
+    @Autowired
+    private IssueAnalysisRepository issueAnalysisRepository;
+
+    @Autowired
+    private AssigneePerformanceRepository assigneePerformanceRepository;
+
+    @MockitoSpyBean
+    private AssigneePerformanceCalculator assigneePerformanceCalculator;
+
+    @MockitoBean
+    private JiraService jiraService;
+
+    @BeforeEach
+    void setUp() {
+        issueAnalysisRepository.deleteAllInBatch();
+        assigneePerformanceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void failedIssueChangesAreRolledBackSoTheRetryRecalculatesTheirAssignees() {
+        doThrow(new IllegalStateException("deadlock")).doCallRealMethod()
+                .when(assigneePerformanceCalculator).recalculate(anyCollection());
+
+        assertThrows(IllegalStateException.class,
+                () -> issueAnalysisService.applyIssueChanges(List.of(resolvedIssue("MW-1")), List.of()));
+        assertFalse(issueAnalysisRepository.existsById("MW-1"));
+
+        issueAnalysisService.applyIssueChanges(List.of(resolvedIssue("MW-1")), List.of());
+        assertEquals(1, assigneePerformanceRepository.findById("acc-1").orElseThrow().getTotalIssuesCompleted());
+    }
+
+    @Test
+    void fullSyncDeletesIssuesJiraNoLongerReturns() {
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        issueAnalysisRepository.saveAll(List.of(
+                storedIssue("MW-1", lastWeek),
+                // Deleted in Jira, but the webhook never arrived
+                storedIssue("MW-2", lastWeek),
+                // Written by a webhook while the sync was running
+                storedIssue("MW-3", LocalDateTime.now().plusMinutes(5))));
+        when(jiraService.streamIssuesByProject("MW")).thenReturn(Flux.just(resolvedIssue("MW-1")));
+
+        SyncResult result = issueAnalysisService.syncIssuesForProject("MW", SyncMode.FULL).block();
+
+        assertEquals(1, result.getDeleted());
+        assertFalse(issueAnalysisRepository.existsById("MW-2"));
+        assertTrue(issueAnalysisRepository.existsById("MW-1"));
+        assertTrue(issueAnalysisRepository.existsById("MW-3"));
+    }
+
+    @Test
+    void syncsOfOneProjectNeverOverlap() {
+        List<String> jiraReads = new CopyOnWriteArrayList<>();
+        when(jiraService.streamIssuesByProject("MW")).thenReturn(Flux.defer(() -> {
+            jiraReads.add("start");
+            return Flux.just(resolvedIssue("MW-1"))
+                    .delayElements(Duration.ofMillis(100))
+                    .doOnComplete(() -> jiraReads.add("end"));
+        }));
+        AssigneeTimeAggregates aggregates = issueAnalysisService.prepareSync().block();
+
+        var results = Mono.zip(
+                issueAnalysisService.storeProjectIssues("MW", SyncMode.FULL, aggregates),
+                issueAnalysisService.storeProjectIssues("MW", SyncMode.FULL, aggregates),
+                issueAnalysisService.storeProjectIssues("MW", SyncMode.INCREMENTAL, aggregates)).block();
+
+        // The second full sync joins the first; the incremental one waits for it to finish
+        assertSame(results.getT1(), results.getT2());
+        assertEquals(SyncMode.INCREMENTAL, results.getT3().getMode());
+        assertEquals(List.of("start", "end", "start", "end"), jiraReads);
+    }
+
+    @Test
+    void rejectsAMissingHourlyCost() {
+        IllegalArgumentException missingCost = assertThrows(IllegalArgumentException.class,
+                () -> issueAnalysisService.updateAssigneeHourlyCost("acc-1", null));
+        assertEquals("Invalid hourly cost for acc-1: null", missingCost.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> issueAnalysisService.updateAssigneeHourlyCost(null, 50.0));
+    }
+
+    private static IssueAnalysis storedIssue(String key, LocalDateTime lastSynced) {
+        IssueAnalysis issue = new IssueAnalysis();
+        issue.setIssueKey(key);
+        issue.setProjectKey("MW");
+        issue.setSummary("Issue " + key);
+        issue.setStatus("In Progress");
+        issue.setCreatedDate(LocalDateTime.of(2026, 1, 5, 9, 0));
+        issue.setLastSynced(lastSynced);
+        return issue;
+    }
+
+    private static JiraIssueDTO resolvedIssue(String key) {
+        JiraIssueDTO.Project project = new JiraIssueDTO.Project();
+        project.setKey("MW");
+        JiraIssueDTO.Status status = new JiraIssueDTO.Status();
+        status.setName("Done");
+        JiraUserDTO assignee = new JiraUserDTO();
+        assignee.setAccountId("acc-1");
+        assignee.setDisplayName("Dana");
+        JiraIssueDTO.Fields fields = new JiraIssueDTO.Fields();
+        fields.setProject(project);
+        fields.setStatus(status);
+        fields.setAssignee(assignee);
+        fields.setSummary("Login fails");
+        fields.setCreated("2026-01-05T09:00:00.000+0000");
+        fields.setResolutiondate("2026-01-05T13:00:00.000+0000");
+        JiraIssueDTO issue = new JiraIssueDTO();
+        issue.setKey(key);
+        issue.setFields(fields);
+        return issue;
+    }
+}
@@ -0,0 +1,111 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IssueSearchIndexTest {
+
+    private IssueSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IssueSearchIndex(null, new SimpleMeterRegistry());
+        index.registerMetrics();
+    }
+
+    @Test
+    void ranksSummaryMatchesAboveDescriptionMatches() {
+        index.index(List.of(
+                issue("MW-1", "MW", "Fix login timeout", "Users are logged out"),
+                issue("MW-2", "MW", "Update footer", "The login page footer has a timeout banner"),
+                issue("MW-3", "MW", "Dark mode", "Add a theme switch")));
+
+        List<IssueSearchIndex.Hit> hits = index.search("login timeout", null, 10);
+
+        assertEquals(List.of("MW-1", "MW-2"), hits.stream().map(IssueSearchIndex.Hit::issueKey).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void filtersByProject() {
+        index.index(List.of(
+                issue("MW-1", "MW", "Payment retry", null),
+                issue("OPS-1", "OPS", "Payment alerts", null)));
+
+        assertEquals(List.of("OPS-1"), keys(index.search("payment", "OPS", 10)));
+        assertEquals(List.of(), keys(index.search("payment", "NONE", 10)));
+    }
+
+    @Test
+    void replacesAndRemovesIssuesAcrossCompactions() {
+        List<IssueAnalysis> issues = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            issues.add(issue("MW-" + i, "MW", "Common task " + i, null));
+        }
+        index.index(issues);
+        // Rewriting every issue leaves 3000 dead documents behind, enough to trigger compaction
+        for (int i = 0; i < 3000; i++) {
+            issues.set(i, issue("MW-" + i, "MW", i == 42 ? "Unique wording" : "Common task " + i, null));
+        }
+        index.index(issues);
+        index.remove(List.of("MW-7"));
+
+        assertEquals(List.of("MW-42"), keys(index.search("unique", null, 10)));
+        assertEquals(2998, index.search("common task", null, 5000).size());
+    }
+
+    @Test
+    void rebuildKeepsUpdatesCommittedAfterItsPageWasRead() {
+        IssueAnalysisRepository repository = mock(IssueAnalysisRepository.class);
+        IssueSearchIndex rebuilt = new IssueSearchIndex(repository, new SimpleMeterRegistry());
+        rebuilt.registerMetrics();
+        when(repository.findIssueTextsAfter(anyString(), any())).thenAnswer(invocation -> {
+            List<IssueAnalysisRepository.IssueText> page = List.of(
+                    text("MW-1", "Stale wording"), text("MW-2", "Deleted issue"), text("MW-3", "Untouched issue"));
+            // Both commits land after the page was read but before it is applied
+            rebuilt.index(List.of(issue("MW-1", "MW", "Fresh wording", null)));
+            rebuilt.remove(List.of("MW-2"));
+            return page;
+        });
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of("MW-1"), keys(rebuilt.search("wording", null, 10)));
+        assertEquals(List.of(), keys(rebuilt.search("stale", null, 10)));
+        assertEquals(List.of("MW-3"), keys(rebuilt.search("issue", null, 10)));
+    }
+
+    private static List<String> keys(List<IssueSearchIndex.Hit> hits) {
+        return hits.stream().map(IssueSearchIndex.Hit::issueKey).toList();
+    }
+
+    private static IssueAnalysis issue(String key, String projectKey, String summary, String description) {
+        IssueAnalysis issue = new IssueAnalysis();
+        issue.setIssueKey(key);
+        issue.setProjectKey(projectKey);
+        issue.setSummary(summary);
+        issue.setDescription(description);
+        return issue;
+    }
+
+    private static IssueAnalysisRepository.IssueText text(String key, String summary) {
+        IssueAnalysisRepository.IssueText text = mock(IssueAnalysisRepository.IssueText.class);
+        when(text.getIssueKey()).thenReturn(key);
+        when(text.getProjectKey()).thenReturn("MW");
+        when(text.getSummary()).thenReturn(summary);
+        return text;
+    }
+}
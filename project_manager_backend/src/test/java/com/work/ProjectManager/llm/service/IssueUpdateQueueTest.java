@@ -0,0 +1,123 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraIssueDTO;
+import com.work.ProjectManager.jira.dto.JiraWebhookEvent;
+import com.work.ProjectManager.llm.dto.BatchWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IssueUpdateQueueTest {
+
+    private final IssueAnalysisService issueAnalysisService = mock(IssueAnalysisService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<String>> upsertBatches = new ArrayList<>();
+    private final List<List<String>> deleteBatches = new ArrayList<>();
+
+    private IssueUpdateQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        queue = new IssueUpdateQueue(issueAnalysisService, meterRegistry);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+        queue.registerMetrics();
+        when(issueAnalysisService.applyIssueChanges(any(), anyCollection())).thenAnswer(invocation -> {
+            List<String> upserts = ((List<JiraIssueDTO>) invocation.getArgument(0)).stream()
+                    .map(JiraIssueDTO::getKey).toList();
+            List<String> deletes = List.copyOf((Collection<String>) invocation.getArgument(1));
+            upsertBatches.add(upserts);
+            deleteBatches.add(deletes);
+            // "BAD" stands in for an event whose data can never be written
+            if (upserts.stream().anyMatch(key -> key.startsWith("BAD")) || deletes.stream().anyMatch(key -> key.startsWith("BAD"))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return new BatchWriteResult();
+        });
+    }
+
+    @Test
+    void coalescesEventsForTheSameIssueKeepingTheNewest() {
+        queue.enqueue(event("MW-1", JiraWebhookEvent.ISSUE_UPDATED, 200L));
+        queue.enqueue(event("MW-1", JiraWebhookEvent.ISSUE_DELETED, 100L));
+        queue.enqueue(event("MW-2", JiraWebhookEvent.ISSUE_CREATED, 100L));
+        queue.enqueue(event("MW-2", JiraWebhookEvent.ISSUE_DELETED, 300L));
+
+        queue.flush();
+
+        assertEquals(List.of(List.of("MW-1")), upsertBatches);
+        assertEquals(List.of(List.of("MW-2")), deleteBatches);
+        assertEquals(2.0, meterRegistry.counter("jira.webhook.events.coalesced").count());
+    }
+
+    @Test
+    void badEventDoesNotHoldBackTheRestAndIsDroppedAfterMaxAttempts() {
+        queue.enqueue(event("MW-1", JiraWebhookEvent.ISSUE_UPDATED, 1L));
+        queue.enqueue(event("BAD-1", JiraWebhookEvent.ISSUE_UPDATED, 1L));
+        queue.enqueue(event("MW-2", JiraWebhookEvent.ISSUE_DELETED, 1L));
+
+        queue.flush();
+        // The failed batch was split: everything but the bad event got through in the same flush
+        assertEquals(List.of("MW-1"), appliedAlone().get(0));
+        assertEquals(1.0, gauge("jira.webhook.queue.size"));
+
+        queue.flush();
+        queue.flush();
+        assertEquals(0.0, gauge("jira.webhook.queue.size"));
+        assertEquals(1.0, meterRegistry.counter("jira.webhook.events.dropped").count());
+
+        int calls = upsertBatches.size();
+        queue.flush();
+        assertEquals(calls, upsertBatches.size());
+    }
+
+    @Test
+    void newerEventForAFailingIssueReplacesTheRetry() {
+        queue.enqueue(event("BAD-1", JiraWebhookEvent.ISSUE_UPDATED, 1L));
+        queue.flush();
+
+        queue.enqueue(event("BAD-1", JiraWebhookEvent.ISSUE_DELETED, 2L));
+        queue.flush();
+
+        // The deletion replaced the pending update rather than being folded into it
+        assertEquals(List.of("BAD-1"), deleteBatches.get(deleteBatches.size() - 1));
+    }
+
+    private List<List<String>> appliedAlone() {
+        List<List<String>> applied = new ArrayList<>();
+        for (int i = 0; i < upsertBatches.size(); i++) {
+            List<String> keys = new ArrayList<>(upsertBatches.get(i));
+            keys.addAll(deleteBatches.get(i));
+            if (keys.size() == 1 && !keys.get(0).startsWith("BAD")) {
+                applied.add(keys);
+            }
+        }
+        return applied;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static JiraWebhookEvent event(String key, String type, Long timestamp) {
+        JiraIssueDTO issue = new JiraIssueDTO();
+        issue.setKey(key);
+        JiraWebhookEvent event = new JiraWebhookEvent();
+        event.setWebhookEvent(type);
+        event.setTimestamp(timestamp);
+        event.setIssue(issue);
+        return event;
+    }
+}
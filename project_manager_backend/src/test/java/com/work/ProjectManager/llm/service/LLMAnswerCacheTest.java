@@ -0,0 +1,129 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LLMAnswerCacheTest {
+
+    private final LLMService llmService = mock(LLMService.class);
+    private final DataVersionTracker dataVersionTracker = new DataVersionTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger contexts = new AtomicInteger();
+    private boolean fallback;
+
+    private LLMAnswerCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LLMAnswerCache(llmService, dataVersionTracker, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(1));
+        cache.registerMetrics();
+        when(llmService.answer(anyString(), any())).thenAnswer(invocation ->
+                Mono.just(new LLMService.Answer("answer " + calls.incrementAndGet(), fallback, 1_000_000_000L)));
+        when(llmService.streamLLM(anyString(), any())).thenAnswer(invocation -> {
+            int call = calls.incrementAndGet();
+            return Flux.just(new LLMService.Token("streamed ", fallback), new LLMService.Token(String.valueOf(call), fallback));
+        });
+    }
+
+    @Test
+    void sameQuestionOverTheSameDataIsAnsweredOnce() {
+        assertEquals("answer 1", ask("Who is fastest?", "MW"));
+        assertEquals("answer 1", ask("  who IS   fastest ", "MW"));
+        assertEquals("answer 2", ask("Who is fastest?", "OPS"));
+
+        assertEquals(2, calls.get());
+        // The context is only built for questions that reach the LLM server
+        assertEquals(2, contexts.get());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, meterRegistry.counter("llm.answer-cache.saved").count());
+    }
+
+    @Test
+    void writesToTheProjectInvalidateItsAnswers() {
+        ask("Who is fastest?", "MW");
+        ask("Who is fastest?", null);
+
+        dataVersionTracker.projectsChanged(Set.of("OPS"));
+        assertEquals("answer 1", ask("Who is fastest?", "MW"));
+        // The all-projects answer covers OPS as well
+        assertEquals("answer 3", ask("Who is fastest?", null));
+
+        dataVersionTracker.projectsChanged(Set.of("MW"));
+        assertEquals("answer 4", ask("Who is fastest?", "MW"));
+    }
+
+    @Test
+    void expiredAnswersAreAskedAgain() {
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ZERO);
+
+        ask("Who is fastest?", "MW");
+        assertEquals("answer 2", ask("Who is fastest?", "MW"));
+        assertEquals(0.0, gets("hit"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyAskedQuestion() {
+        ask("first", "MW");
+        ask("second", "MW");
+        ask("first", "MW");
+        ask("third", "MW");
+        assertEquals(2.0, meterRegistry.get("cache.size").tag("cache", "llmAnswers").gauge().value());
+
+        assertEquals("answer 1", ask("first", "MW"));
+        assertEquals("answer 4", ask("second", "MW"));
+    }
+
+    @Test
+    void fallbackAnswersAreNotCached() {
+        fallback = true;
+        ask("Who is fastest?", "MW");
+        stream("Who is fastest?", "MW");
+        fallback = false;
+        assertEquals("answer 3", ask("Who is fastest?", "MW"));
+    }
+
+    @Test
+    void streamedAnswerIsCachedOnceComplete() {
+        assertEquals(List.of("streamed ", "1"), stream("Who is fastest?", "MW"));
+        assertEquals(List.of("streamed 1"), stream("Who is fastest?", "MW"));
+        assertEquals("streamed 1", ask("who is fastest", "MW"));
+        assertEquals(1, calls.get());
+    }
+
+    private String ask(String prompt, String projectKey) {
+        return cache.ask(prompt, projectKey, this::context).block();
+    }
+
+    private List<String> stream(String prompt, String projectKey) {
+        return cache.stream(prompt, projectKey, this::context).collectList().block();
+    }
+
+    private LLMDataDTO context() {
+        contexts.incrementAndGet();
+        return new LLMDataDTO(List.of(), List.of());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.counter("cache.gets", "cache", "llmAnswers", "result", result).count();
+    }
+}
@@ -0,0 +1,158 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import com.work.ProjectManager.llm.entity.AssigneePerformance;
+import com.work.ProjectManager.llm.entity.IssueAnalysis;
+import com.work.ProjectManager.llm.repository.AssigneePerformanceRepository;
+import com.work.ProjectManager.llm.repository.IssueAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "llm.context.max-bytes=4096",
+        "llm.context.max-issues=3",
+        "llm.context.max-description-chars=40"
+})
+@ActiveProfiles("test")
+class LLMContextBuilderTest {
+
+    private static final int MAX_BYTES = 4096;
+
+    @Autowired
+    private LLMContextBuilder contextBuilder;
+
+    @Autowired
+    private IssueAnalysisRepository issueAnalysisRepository;
+
+    @Autowired
+    private AssigneePerformanceRepository assigneePerformanceRepository;
+
+    @Autowired
+    private IssueSearchIndex issueSearchIndex;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        issueAnalysisRepository.deleteAllInBatch();
+        assigneePerformanceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ranksNamedIssuesThenSearchHitsThenTheLatest() {
+        store(issue("MW-1", "Export to PDF crashes", "Done", 1),
+                issue("MW-2", "Login fails", "In Progress", 2),
+                issue("MW-3", "Dark mode", "To Do", 4),
+                issue("MW-4", "Slow dashboard", "To Do", 3),
+                issue("MW-5", "Upgrade the driver", "Done", 0),
+                // Another project is out of scope, however well it matches
+                issue("OPS-1", "Export job timeout", "Done", 5));
+
+        LLMDataDTO data = contextBuilder.build("Why is MW-5 waiting on the export?", "MW");
+
+        assertEquals(List.of("MW-5", "MW-1", "MW-3"), keys(data));
+        // The issues left out are still counted in the summary
+        LLMDataDTO.SummaryDTO summary = data.getSummary();
+        assertEquals(5, summary.getTotalIssues());
+        assertEquals(2, summary.getCompletedIssues());
+        assertEquals(3, summary.getIssuesIncluded());
+        assertEquals(2, summary.getIssuesOmitted());
+        assertEquals(Map.of("Done", 2L, "In Progress", 1L, "To Do", 2L), summary.getIssuesByStatus());
+        assertWithinBudget(data);
+    }
+
+    @Test
+    void truncatesDescriptions() {
+        IssueAnalysis slow = issue("MW-4", "Slow dashboard", "To Do", 3);
+        slow.setDescription("Charts take a long time to render. ".repeat(10));
+        store(slow);
+
+        LLMDataDTO data = contextBuilder.build("dashboard", "MW");
+
+        assertEquals("Charts take a long time to render. Chart...", data.getIssues().get(0).getDescription());
+    }
+
+    @Test
+    void skipsIssuesThatNoLongerFitForSmallerOnes() {
+        // Two-byte characters, so a budget counted in chars would let both large issues in
+        store(issue("MW-1", "ö".repeat(900), "To Do", 3),
+                issue("MW-2", "ö".repeat(1000), "To Do", 2),
+                issue("MW-3", "Small", "To Do", 1));
+
+        LLMDataDTO data = contextBuilder.build("", "MW");
+
+        assertEquals(List.of("MW-1", "MW-3"), keys(data));
+        assertEquals(1, data.getSummary().getIssuesOmitted());
+        assertWithinBudget(data);
+    }
+
+    @Test
+    void limitsAssigneesToHalfTheBudgetNamedOnesFirst() {
+        assigneePerformanceRepository.saveAll(IntStream.range(10, 40)
+                .mapToObj(i -> assignee("acc-" + i, "Assignee " + i, i))
+                .toList());
+
+        LLMDataDTO data = contextBuilder.build("How is Assignee 10 doing?", null);
+
+        // 217 estimated bytes each: nine fit in half of 4096
+        assertEquals(9, data.getAssignees().size());
+        assertEquals("Assignee 10", data.getAssignees().get(0).getName());
+        // Then by completed issues
+        assertEquals("Assignee 39", data.getAssignees().get(1).getName());
+        assertTrue(jsonMapper.writeValueAsBytes(data.getAssignees()).length <= MAX_BYTES / 2);
+    }
+
+    @Test
+    void sizesTextByItsUtf8Bytes() {
+        for (String text : new String[]{"Login fails", "Café crème", "ログインできない", "Ship it 🚀", ""}) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, LLMContextBuilder.utf8Length(text), text);
+        }
+        assertEquals(0, LLMContextBuilder.utf8Length(null));
+    }
+
+    private void store(IssueAnalysis... issues) {
+        issueAnalysisRepository.saveAll(List.of(issues));
+        issueSearchIndex.rebuild();
+    }
+
+    private void assertWithinBudget(LLMDataDTO data) {
+        int size = jsonMapper.writeValueAsBytes(data).length;
+        assertTrue(size <= MAX_BYTES, "context is " + size + " bytes");
+    }
+
+    private static List<String> keys(LLMDataDTO data) {
+        return data.getIssues().stream().map(LLMDataDTO.IssueAnalysisDTO::getIssueKey).toList();
+    }
+
+    private static IssueAnalysis issue(String key, String summary, String status, int createdDay) {
+        IssueAnalysis issue = new IssueAnalysis();
+        issue.setIssueKey(key);
+        issue.setProjectKey(key.substring(0, key.indexOf('-')));
+        issue.setSummary(summary);
+        issue.setStatus(status);
+        issue.setCreatedDate(LocalDateTime.of(2026, 3, 1, 9, 0).plusDays(createdDay));
+        return issue;
+    }
+
+    private static AssigneePerformance assignee(String accountId, String name, int completed) {
+        AssigneePerformance assignee = new AssigneePerformance();
+        assignee.setAccountId(accountId);
+        assignee.setName(name);
+        assignee.setTotalIssuesCompleted(completed);
+        return assignee;
+    }
+}
@@ -0,0 +1,133 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LLMDataSnapshotsTest {
+
+    private final DataVersionTracker dataVersionTracker = new DataVersionTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private LLMDataSnapshots snapshots;
+
+    @BeforeEach
+    void setUp() {
+        snapshots = new LLMDataSnapshots(dataVersionTracker, JsonMapper.builder().build(), meterRegistry);
+        ReflectionTestUtils.setField(snapshots, "gzipMinBytes", 1024);
+        ReflectionTestUtils.setField(snapshots, "maxEntries", 2);
+        snapshots.registerMetrics();
+    }
+
+    @Test
+    void servesTheSameSnapshotUntilTheProjectChanges() {
+        LLMDataSnapshots.Snapshot first = snapshots.get("MW", () -> data(3));
+        assertSame(first, snapshots.get("MW", () -> data(3)));
+        assertEquals(1, builds.get());
+
+        // Another project's write leaves this one alone, but not the all-projects snapshot
+        LLMDataSnapshots.Snapshot all = snapshots.get(null, () -> data(3));
+        dataVersionTracker.projectsChanged(Set.of("OPS"));
+        assertSame(first, snapshots.get("MW", () -> data(3)));
+        assertNotEquals(all.etag(), snapshots.get(null, () -> data(3)).etag());
+
+        dataVersionTracker.projectsChanged(Set.of("MW"));
+        LLMDataSnapshots.Snapshot rebuilt = snapshots.get("MW", () -> data(4));
+        assertNotEquals(first.etag(), rebuilt.etag());
+        assertTrue(new String(rebuilt.json()).contains("MW-4"));
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void matchesIfNoneMatchOnlyForTheCurrentVersion() {
+        String etag = snapshots.get("MW", () -> data(1)).etag();
+
+        assertTrue(snapshots.isCurrent("MW", etag));
+        assertTrue(snapshots.isCurrent("MW", "\"other\", " + etag.substring(2)));
+        assertFalse(snapshots.isCurrent("OPS", etag));
+        assertFalse(snapshots.isCurrent("MW", null));
+
+        dataVersionTracker.sharedDataChanged();
+        assertFalse(snapshots.isCurrent("MW", etag));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void keepsAGzipCopyOfLargeBodies() throws Exception {
+        assertNull(snapshots.get("MW", () -> data(1)).gzipped());
+
+        LLMDataSnapshots.Snapshot large = snapshots.get("OPS", () -> data(200));
+        assertNotNull(large.gzipped());
+        assertTrue(large.gzipped().length < large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzipped()))) {
+            assertArrayEquals(large.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void keepsABoundedNumberOfSnapshotsAndNoneForUnknownProjects() {
+        snapshots.get("NOPE", () -> data(0));
+        snapshots.get("NOPE", () -> data(0));
+        assertEquals(2, builds.get());
+        assertEquals(0.0, cacheSize());
+
+        snapshots.get("A", () -> data(1));
+        snapshots.get("B", () -> data(1));
+        snapshots.get("A", () -> data(1));
+        snapshots.get("C", () -> data(1));
+        assertEquals(2.0, cacheSize());
+        assertEquals(5, builds.get());
+
+        // B was the least recently served, so it was evicted and A survived
+        snapshots.get("A", () -> data(1));
+        assertEquals(5, builds.get());
+        snapshots.get("B", () -> data(1));
+        assertEquals(6, builds.get());
+    }
+
+    @Test
+    void honoursQValuesInAcceptEncoding() {
+        assertTrue(LLMDataSnapshots.acceptsGzip("gzip, deflate, br"));
+        assertTrue(LLMDataSnapshots.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(LLMDataSnapshots.acceptsGzip("*"));
+        assertFalse(LLMDataSnapshots.acceptsGzip("gzip;q=0"));
+        assertFalse(LLMDataSnapshots.acceptsGzip("gzip; q=0.000, deflate"));
+        assertFalse(LLMDataSnapshots.acceptsGzip("*;q=0.5, gzip;q=0"));
+        assertFalse(LLMDataSnapshots.acceptsGzip("identity"));
+        assertFalse(LLMDataSnapshots.acceptsGzip(null));
+    }
+
+    private double cacheSize() {
+        return meterRegistry.get("cache.size").tag("cache", "llmDataSnapshots").gauge().value();
+    }
+
+    private LLMDataDTO data(int issueCount) {
+        builds.incrementAndGet();
+        List<LLMDataDTO.IssueAnalysisDTO> issues = new ArrayList<>();
+        for (int i = 1; i <= issueCount; i++) {
+            issues.add(new LLMDataDTO.IssueAnalysisDTO("MW-" + i, "MW", "Issue " + i, "Description of issue " + i,
+                    "Dana", "dana@example.com", "Done", 4.0, 200.0, 1.0));
+        }
+        return new LLMDataDTO(issues, List.of());
+    }
+}
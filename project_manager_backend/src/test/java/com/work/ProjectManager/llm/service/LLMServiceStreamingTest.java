@@ -0,0 +1,68 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.benchmark.FakeLLMServer;
+import com.work.ProjectManager.config.HttpTransportFactory;
+import com.work.ProjectManager.llm.dto.LLMDataDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LLMServiceStreamingTest {
+
+    private final LLMDataDTO context = new LLMDataDTO(List.of(), List.of());
+
+    private FakeLLMServer llmServer;
+    private HttpTransportFactory httpTransportFactory;
+    private LLMService llmService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        llmServer = new FakeLLMServer();
+        httpTransportFactory = new HttpTransportFactory(new MockEnvironment());
+        llmService = new LLMService(WebClient.builder(), httpTransportFactory, new SimpleMeterRegistry(),
+                JsonMapper.builder().build());
+        ReflectionTestUtils.setField(llmService, "llmServerUrl", llmServer.baseUrl());
+        ReflectionTestUtils.setField(llmService, "llmApiKey", "");
+        ReflectionTestUtils.setField(llmService, "timeoutSeconds", 5);
+        llmService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpTransportFactory.dispose();
+        llmServer.close();
+    }
+
+    @Test
+    void forwardsTokensAsTheyArrive() {
+        List<LLMService.Token> tokens = llmService.streamLLM("Who is most efficient?", context)
+                .collectList().block();
+
+        assertEquals(llmServer.tokens(), tokens.stream().map(LLMService.Token::text).toList());
+        assertTrue(tokens.size() > 1);
+        assertTrue(tokens.stream().noneMatch(LLMService.Token::fallback));
+    }
+
+    @Test
+    void fallsBackWhenTheServerFailsBeforeTheFirstToken() {
+        llmServer.failWith(503);
+
+        List<LLMService.Token> tokens = llmService.streamLLM("What is the total cost?", context)
+                .collectList().block();
+
+        assertEquals(1, tokens.size());
+        assertTrue(tokens.get(0).fallback());
+        assertFalse(tokens.get(0).text().isEmpty());
+    }
+}
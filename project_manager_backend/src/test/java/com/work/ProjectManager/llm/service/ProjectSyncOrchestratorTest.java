@@ -0,0 +1,79 @@
+package com.work.ProjectManager.llm.service;
+
+import com.work.ProjectManager.jira.dto.JiraProjectDTO;
+import com.work.ProjectManager.jira.service.JiraService;
+import com.work.ProjectManager.llm.dto.MultiProjectSyncResult;
+import com.work.ProjectManager.llm.dto.SyncMode;
+import com.work.ProjectManager.llm.dto.SyncResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProjectSyncOrchestratorTest {
+
+    private final JiraService jiraService = mock(JiraService.class);
+    private final IssueAnalysisService issueAnalysisService = mock(IssueAnalysisService.class);
+    private final SyncRunLedger syncRunLedger = mock(SyncRunLedger.class);
+    private final ProjectSyncOrchestrator orchestrator =
+            new ProjectSyncOrchestrator(jiraService, issueAnalysisService, syncRunLedger);
+
+    @Test
+    void syncsEveryProjectWithinTheConcurrencyLimit() {
+        AssigneeTimeAggregates aggregates = new AssigneeTimeAggregates();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(jiraService.getAllProjects()).thenReturn(Mono.just(Arrays.stream(new String[]{"OPS", "MW", "BAD", "WEB", "API"})
+                .map(ProjectSyncOrchestratorTest::project)
+                .toArray(JiraProjectDTO[]::new)));
+        when(issueAnalysisService.prepareSync()).thenReturn(Mono.just(aggregates));
+        when(issueAnalysisService.refreshAssigneeMetrics(aggregates)).thenReturn(Mono.empty());
+        when(syncRunLedger.track(anyString(), any(), any())).thenAnswer(invocation -> invocation.getArgument(2));
+        when(issueAnalysisService.storeProjectIssues(anyString(), any(), any())).thenAnswer(invocation -> {
+            String projectKey = invocation.getArgument(0);
+            return Mono.defer(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return Mono.delay(Duration.ofMillis(50)).then(projectKey.equals("BAD")
+                        ? Mono.<SyncResult>error(new IllegalStateException("Jira returned 500"))
+                        : Mono.just(new SyncResult(projectKey, SyncMode.FULL)));
+            })
+                    // Leave the running count before the result reaches the orchestrator, which starts the next project
+                    .doOnTerminate(running::decrementAndGet);
+        });
+
+        MultiProjectSyncResult result = orchestrator.syncAllProjects(SyncMode.FULL, 2).block();
+
+        assertEquals(2, result.getConcurrency());
+        assertEquals(2, maxRunning.get());
+        assertEquals(4, result.getProjectsSucceeded());
+        // A failing project is reported without stopping the others
+        assertEquals(1, result.getProjectsFailed());
+        assertEquals("API,BAD,MW,OPS,WEB", String.join(",",
+                result.getProjects().stream().map(SyncResult::getProjectKey).toList()));
+        assertNull(result.getProjects().get(0).getError());
+        assertEquals("Jira returned 500", result.getProjects().get(1).getError());
+        // Assignee metrics are refreshed once, from the aggregates every project wrote into
+        verify(issueAnalysisService, times(5)).storeProjectIssues(anyString(), any(), same(aggregates));
+        verify(issueAnalysisService, times(1)).refreshAssigneeMetrics(aggregates);
+        // Each project is recorded as its own run
+        verify(syncRunLedger, times(5)).track(anyString(), same(SyncMode.FULL), any());
+    }
+
+    private static JiraProjectDTO project(String key) {
+        JiraProjectDTO project = new JiraProjectDTO();
+        project.setKey(key);
+        return project;
+    }
+}
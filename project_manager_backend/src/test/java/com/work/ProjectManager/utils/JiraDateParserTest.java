@@ -0,0 +1,95 @@
+package com.work.ProjectManager.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JiraDateParserTest {
+
+    private static final long SEED = 20240115L;
+    private static final int CASES = 200_000;
+
+    @Test
+    void parsesJiraFormats() {
+        LocalDateTime expected = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000);
+        assertEquals(expected, JiraDateParser.parse("2024-01-15T10:30:00.123+0000"));
+        assertEquals(expected, JiraDateParser.parse("2024-01-15T10:30:00.123-0530"));
+        assertEquals(expected, JiraDateParser.parse("2024-01-15T10:30:00.123+05:30"));
+        assertEquals(expected, JiraDateParser.parse("2024-01-15T10:30:00.123Z"));
+        assertEquals(expected.withNano(0), JiraDateParser.parse("2024-01-15T10:30:00Z"));
+        assertNotNull(JiraDateParser.parseStrict("2024-01-15T10:30:00.123+0000"));
+        assertNull(JiraDateParser.parse(""));
+        assertNull(JiraDateParser.parse(null));
+    }
+
+    @Test
+    void appliesTheOffsetForInstants() {
+        Instant expected = Instant.parse("2024-01-15T10:30:00.123Z");
+        assertEquals(expected, JiraDateParser.parseInstant("2024-01-15T10:30:00.123+0000"));
+        assertEquals(expected, JiraDateParser.parseInstant("2024-01-15T16:00:00.123+0530"));
+        assertEquals(expected, JiraDateParser.parseInstant("2024-01-15T05:00:00.123-05:30"));
+        assertEquals(expected, JiraDateParser.parseInstant("2024-01-15T10:30:00.123Z"));
+        // Without an offset the instant is unknown
+        assertNull(JiraDateParser.parseInstant("2024-01-15T10:30:00.123"));
+        assertNull(JiraDateParser.parseInstant(null));
+    }
+
+    /**
+     * Property: for any input, valid or not, the fast parser agrees with the original one
+     */
+    @Test
+    void agreesWithLegacyParserOnRandomInputs() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < CASES; i++) {
+            String input = randomTimestamp(random);
+            assertEquals(JiraDateParser.parseLegacy(input), JiraDateParser.parse(input), () -> "input: " + input);
+        }
+    }
+
+    static String randomTimestamp(Random random) {
+        StringBuilder sb = new StringBuilder(40);
+        sb.append(pad(random.nextInt(10) == 0 ? random.nextInt(10_000) : 1990 + random.nextInt(50), 4)).append('-')
+                .append(pad(random.nextInt(14), 2)).append('-')
+                .append(pad(random.nextInt(33), 2)).append('T')
+                .append(pad(random.nextInt(26), 2)).append(':')
+                .append(pad(random.nextInt(61), 2)).append(':')
+                .append(pad(random.nextInt(62), 2));
+        int fraction = random.nextInt(12) - 1;
+        if (fraction >= 0) {
+            sb.append('.');
+            for (int d = 0; d < fraction; d++) {
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        char sign = random.nextBoolean() ? '+' : '-';
+        String hours = pad(random.nextInt(20), 2);
+        String minutes = pad(random.nextInt(10) == 0 ? random.nextInt(100) : random.nextInt(4) * 15, 2);
+        switch (random.nextInt(6)) {
+            case 0 -> sb.append('Z');
+            case 1, 2 -> sb.append(sign).append(hours).append(minutes);
+            case 3 -> sb.append(sign).append(hours).append(':').append(minutes);
+            case 4 -> sb.append(sign).append(hours);
+            default -> { }
+        }
+        // Occasionally corrupt one character or truncate
+        if (random.nextInt(8) == 0) {
+            int at = random.nextInt(sb.length());
+            sb.setCharAt(at, "0123456789:-+.TZz x".charAt(random.nextInt(19)));
+        }
+        if (random.nextInt(16) == 0) {
+            sb.setLength(random.nextInt(sb.length() + 1));
+        }
+        return sb.toString();
+    }
+
+    private static String pad(int value, int width) {
+        String s = Integer.toString(value);
+        return s.length() >= width ? s : "0".repeat(width - s.length()) + s;
+    }
+}